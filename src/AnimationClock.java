@@ -0,0 +1,148 @@
+import javax.swing.Timer;
+import java.util.ArrayList;
+import java.util.List;
+
+// Satu jam animasi untuk seluruh UI: satu javax.swing.Timer (EDT) menggerakkan semua animasi aktif.
+// Animasi dihitung dari waktu yang sudah lewat, bukan dari jumlah frame: kalau EDT telat,
+// event timer digabung (coalesce) dan frame berikutnya langsung lompat ke posisi yang benar.
+// Timer hanya jalan selama ada animasi aktif.
+public class AnimationClock {
+    public static final int FRAME_MS = 16;
+    // Cetak statistik frame ke console setiap kali clock idle: -Danimation.stats=true
+    private static final boolean PRINT_STATS = Boolean.getBoolean("animation.stats");
+
+    // Dipanggil setiap frame dengan waktu sejak animasi mulai (ms, dibatasi sampai durasinya)
+    public interface Frame {
+        void frame(long elapsedMs);
+    }
+
+    private static class Animation {
+        final long durationMs;
+        final Frame frame;
+        final Runnable onDone;
+        long startNanos = -1;
+
+        Animation(long durationMs, Frame frame, Runnable onDone) {
+            this.durationMs = durationMs;
+            this.frame = frame;
+            this.onDone = onDone;
+        }
+    }
+
+    private final Timer timer;
+    private final List<Animation> active = new ArrayList<>();
+    private final Stats stats = new Stats();
+    private long lastTickNanos = -1;
+
+    public AnimationClock() {
+        timer = new Timer(FRAME_MS, e -> tick());
+        timer.setCoalesce(true);
+    }
+
+    // Animasi berdurasi tetap. Frame terakhir selalu dikirim dengan elapsed = durationMs sebelum onDone.
+    public void start(long durationMs, Frame frame, Runnable onDone) {
+        active.add(new Animation(durationMs, frame, onDone));
+        if (!timer.isRunning()) {
+            lastTickNanos = -1;
+            timer.start();
+        }
+    }
+
+    // Pengganti Timer one-shot (mis. jeda sebelum bot roll)
+    public void schedule(long delayMs, Runnable action) {
+        start(delayMs, null, action);
+    }
+
+    public void cancelAll() {
+        active.clear();
+    }
+
+    public Stats getStats() { return stats; }
+
+    // Dipanggil GameBoard: waktu paintComponent ikut dihitung ke beban per frame
+    public void recordPaint(long nanos) {
+        stats.recordPaint(nanos);
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        if (lastTickNanos >= 0) stats.recordInterval(now - lastTickNanos);
+        lastTickNanos = now;
+
+        // Snapshot dulu: animasi boleh memulai animasi baru dari dalam frame / onDone
+        Animation[] running = active.toArray(new Animation[0]);
+        List<Runnable> finished = new ArrayList<>();
+        for (Animation a : running) {
+            if (a.startNanos < 0) a.startNanos = now;
+            long elapsed = Math.min(a.durationMs, (now - a.startNanos) / 1_000_000);
+            if (a.frame != null) a.frame.frame(elapsed);
+            if (elapsed >= a.durationMs) {
+                active.remove(a);
+                if (a.onDone != null) finished.add(a.onDone);
+            }
+        }
+        stats.recordTick(System.nanoTime() - now);
+
+        // onDone dijalankan setelah loop selesai (bisa membuka dialog modal yang memompa event lagi)
+        for (Runnable r : finished) r.run();
+        if (active.isEmpty()) {
+            timer.stop();
+            if (PRINT_STATS && stats.ticks > 0) {
+                System.out.println("Animation: " + stats);
+                stats.reset();
+            }
+        }
+    }
+
+    // Statistik waktu per frame (semua di EDT, tanpa sinkronisasi)
+    public static class Stats {
+        private long frames;
+        private long dropped;
+        private long ticks;
+        private long tickNanos;
+        private long maxTickNanos;
+        private long paints;
+        private long paintNanos;
+        private long maxPaintNanos;
+        private long maxIntervalNanos;
+
+        void recordInterval(long nanos) {
+            frames++;
+            maxIntervalNanos = Math.max(maxIntervalNanos, nanos);
+            // Jarak antar tick lebih dari 1.5 frame = ada frame yang dilewati
+            long frameNanos = FRAME_MS * 1_000_000L;
+            if (nanos > frameNanos * 3 / 2) dropped += (nanos + frameNanos / 2) / frameNanos - 1;
+        }
+
+        void recordTick(long nanos) {
+            ticks++;
+            tickNanos += nanos;
+            maxTickNanos = Math.max(maxTickNanos, nanos);
+        }
+
+        void recordPaint(long nanos) {
+            paints++;
+            paintNanos += nanos;
+            maxPaintNanos = Math.max(maxPaintNanos, nanos);
+        }
+
+        public long getFrames() { return frames; }
+        public long getDroppedFrames() { return dropped; }
+        public double getMaxIntervalMs() { return maxIntervalNanos / 1e6; }
+        public double getAverageTickMs() { return ticks == 0 ? 0 : tickNanos / 1e6 / ticks; }
+        public double getAveragePaintMs() { return paints == 0 ? 0 : paintNanos / 1e6 / paints; }
+        public double getMaxPaintMs() { return maxPaintNanos / 1e6; }
+
+        public void reset() {
+            frames = dropped = ticks = tickNanos = maxTickNanos = 0;
+            paints = paintNanos = maxPaintNanos = maxIntervalNanos = 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d frames, %d dropped, max gap %.1f ms | tick avg %.2f ms max %.2f ms | paint avg %.2f ms max %.2f ms",
+                    frames, dropped, getMaxIntervalMs(), getAverageTickMs(), maxTickNanos / 1e6,
+                    getAveragePaintMs(), getMaxPaintMs());
+        }
+    }
+}
@@ -0,0 +1,227 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntPredicate;
+
+// Simulasi massal gaya struct-of-arrays: ribuan game berjalan bersamaan sebagai array primitif
+// (posisi, skor, kursi, giliran per "lane"), semua lane maju satu roll per step.
+// Aturan sama dengan GameEngine (tabel landing + bintang + petak bonus dari BoardTables, peluang
+// mundur dari BoardRules, bintang (1-5)*10), tapi keputusan bonus per petak (IntPredicate),
+// tidak tergantung posisi lawan -> cocok untuk melatih / mengevaluasi policy berbasis petak.
+//
+// Layout per lane: position[0] = pemain yang sedang jalan, position[1] = berikutnya, dst.
+// Ganti giliran = rotasi array, jadi pemain yang jalan selalu dibaca dari index 0.
+// Random per lane counter-based (hash 32-bit dari counter + key lane): hasil tidak tergantung
+// urutan lane diproses.
+// Batas: policy bonus hanya per petak, dibakar ke tabel outcome. Policy yang tergantung posisi
+// lawan (BonusPolicyTable) tidak bisa dievaluasi di sini; pakai MonteCarloSimulator untuk itu.
+public class BatchSimulator {
+    public static final int DEFAULT_LANES = 1024;
+    // Game per chunk fork-join (seed chunk sendiri, hasil tidak tergantung jumlah thread)
+    private static final int CHUNK_GAMES = 1 << 18;
+    private static final int DEFAULT_MAX_TURNS = 100_000;
+
+    // --- FORMAT TABEL OUTCOME: (landing << 8) | (bintang << 4) | flag ---
+    private static final int FINISH = 1;
+    private static final int ROLL_AGAIN = 1 << 1;
+    private static final int HITS_SHIFT = 4;
+    private static final int LAND_SHIFT = 8;
+
+    private final int players;
+    private final int finish;
+    // Mundur jika 24 bit acak < peluang mundur * 2^24
+    private final int backwardThreshold;
+    // Index: pos * 12 + (dice - 1) * 2 + mundur
+    private final int[] outcome;
+    private int lanes = DEFAULT_LANES;
+    private int maxTurns = DEFAULT_MAX_TURNS;
+
+    // rollAgainAt(pos) = ambil bonus roll di petak pos (hanya ditanya untuk petak bonus)
+    public BatchSimulator(BoardTables tables, int players, IntPredicate rollAgainAt) {
+        if (players < 1 || players > GameEngine.MAX_PLAYERS) {
+            throw new IllegalArgumentException("Players must be 1-" + GameEngine.MAX_PLAYERS + ": " + players);
+        }
+        this.players = players;
+        this.finish = tables.getFinish();
+        this.backwardThreshold = (int) Math.round(tables.getRules().getBackwardChance() * (1 << 24));
+        boolean[] rollAgain = new boolean[finish + 1];
+        for (int pos = 1; pos < finish; pos++) {
+            rollAgain[pos] = tables.is(pos, BoardTables.BONUS) && rollAgainAt.test(pos);
+        }
+        outcome = new int[(finish + 1) * 12];
+        for (int pos = 1; pos <= finish; pos++) {
+            for (int dice = 1; dice <= 6; dice++) {
+                for (int back = 0; back < 2; back++) {
+                    int land = tables.landing(pos, dice, back == 1);
+                    int hits = tables.starHits(pos, dice, back == 1);
+                    int flags = land == finish ? FINISH : rollAgain[land] ? ROLL_AGAIN : 0;
+                    outcome[pos * 12 + (dice - 1) * 2 + back] = land << LAND_SHIFT | hits << HITS_SHIFT | flags;
+                }
+            }
+        }
+    }
+
+    public void setLanes(int lanes) { this.lanes = lanes; }
+    public void setMaxTurns(int maxTurns) { this.maxTurns = maxTurns; }
+
+    public SimulationStats run(long games, long seed) {
+        return run(games, seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    public SimulationStats run(long games, long seed, int parallelism) {
+        if (games < 0) throw new IllegalArgumentException("Negative game count: " + games);
+        long chunks = (games + CHUNK_GAMES - 1) / CHUNK_GAMES;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(new ChunkTask(0, chunks, games, seed));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private SimulationStats runChunk(long chunk, long totalGames, long seed) {
+        long first = chunk * CHUNK_GAMES;
+        int count = (int) Math.min(CHUNK_GAMES, totalGames - first);
+        Batch batch = new Batch(Math.min(lanes, count), count, MonteCarloSimulator.chunkSeed(seed, chunk));
+        while (batch.activeLanes > 0) batch.step();
+        return batch.stats;
+    }
+
+    // Hash 32-bit (finalizer murmur3) dari counter lane, di-xor dengan key lane.
+    static int mix(int counter, int key) {
+        int x = counter * 0x9E3779B9 ^ key;
+        x ^= x >>> 16;
+        x *= 0x85EBCA6B;
+        x ^= x >>> 13;
+        x *= 0xC2B2AE35;
+        x ^= x >>> 16;
+        return x;
+    }
+
+    // --- STATE SATU BATCH (SoA) ---
+
+    private final class Batch {
+        final int lanes;
+        final int players = BatchSimulator.this.players;
+        final int maxTurns = BatchSimulator.this.maxTurns;
+        final int backwardThreshold = BatchSimulator.this.backwardThreshold;
+        final int[] outcome = BatchSimulator.this.outcome;
+        // [urutan dari pemain yang sedang jalan][lane]
+        final int[][] position;
+        final int[][] score;
+        final int[] seat;
+        final int[] turn;
+        final int[] counter;
+        final int[] key;
+        final boolean[] active;
+        final SimulationStats stats;
+        int activeLanes;
+        private int remaining;
+
+        Batch(int lanes, int games, long seed) {
+            this.lanes = lanes;
+            position = new int[players][lanes];
+            score = new int[players][lanes];
+            seat = new int[lanes];
+            turn = new int[lanes];
+            counter = new int[lanes];
+            key = new int[lanes];
+            active = new boolean[lanes];
+            stats = new SimulationStats(players);
+            // Key berbeda untuk setiap lane (mix bijektif dari base + lane)
+            int base = new SplittableRandom(seed).nextInt();
+            for (int l = 0; l < lanes; l++) {
+                key[l] = mix(base + l, 0x6A09E667);
+                active[l] = true;
+                reset(l);
+            }
+            activeLanes = lanes;
+            remaining = games - lanes;
+        }
+
+        private void reset(int l) {
+            for (int k = 0; k < players; k++) {
+                position[k][l] = 1;
+                score[k][l] = 0;
+            }
+            seat[l] = 0;
+            turn[l] = 1;
+        }
+
+        // Satu roll untuk semua lane
+        void step() {
+            for (int l = 0; l < lanes; l++) stepLane(l);
+        }
+
+        private void stepLane(int l) {
+            int c = counter[l];
+            int k = key[l];
+            int dice = (mix(c, k) >>> 8) * 6 >>> 24;
+            int back = mix(c + 1, k) >>> 8 < backwardThreshold ? 1 : 0;
+            c += 2;
+            int out = outcome[position[0][l] * 12 + dice * 2 + back];
+            int hits = out >>> HITS_SHIFT & 0xF;
+            for (int h = 0; h < hits; h++) {
+                score[0][l] += ((mix(c++, k) >>> 8) * 5 >>> 24) * 10 + 10;
+            }
+            counter[l] = c;
+            position[0][l] = out >>> LAND_SHIFT;
+            if ((out & (FINISH | ROLL_AGAIN)) == 0) {
+                // Giliran pindah: rotasi urutan, kursi berikutnya jadi index 0
+                int p0 = position[0][l];
+                int s0 = score[0][l];
+                for (int j = 0; j < players - 1; j++) {
+                    position[j][l] = position[j + 1][l];
+                    score[j][l] = score[j + 1][l];
+                }
+                position[players - 1][l] = p0;
+                score[players - 1][l] = s0;
+                seat[l] = seat[l] + 1 == players ? 0 : seat[l] + 1;
+                turn[l]++;
+            }
+            if ((out & FINISH) != 0 || turn[l] > maxTurns) endGame(l);
+        }
+
+        // Game di lane selesai (menang / batas giliran): catat, lalu mulai game berikutnya jika masih ada
+        private void endGame(int l) {
+            if (active[l]) {
+                if (position[0][l] == finish) stats.record(seat[l], turn[l], score[0][l]);
+                else stats.recordUnfinished();
+                if (remaining > 0) {
+                    remaining--;
+                } else {
+                    active[l] = false;
+                    activeLanes--;
+                }
+            }
+            // Lane nonaktif tetap di-reset (step tetap menjalankannya, hasilnya diabaikan)
+            reset(l);
+        }
+    }
+
+    private class ChunkTask extends RecursiveTask<SimulationStats> {
+        private final long from;
+        private final long to;
+        private final long totalGames;
+        private final long seed;
+
+        ChunkTask(long from, long to, long totalGames, long seed) {
+            this.from = from;
+            this.to = to;
+            this.totalGames = totalGames;
+            this.seed = seed;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (to - from <= 1) {
+                return from < to ? runChunk(from, totalGames, seed) : new SimulationStats(players);
+            }
+            long mid = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(from, mid, totalGames, seed);
+            left.fork();
+            SimulationStats right = new ChunkTask(mid, to, totalGames, seed).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.Clip;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+// Micro-benchmark untuk bagian yang berat saat dipakai terus-menerus:
+// resolusi langkah, simulasi game penuh, paint papan, rebuild leaderboard, buka clip WAV.
+// Tanpa dependency (JMH tidak tersedia di build IntelliJ ini), tapi polanya sama:
+// warmup, beberapa iterasi terukur, hasil ditulis sebagai JSON untuk dibandingkan antar run.
+//
+// Pakai: java -Djava.awt.headless=true Benchmarks [output.json] [filter]
+public class Benchmarks {
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURE_ITERATIONS = 5;
+    private static final long ITERATION_NANOS = 1_000_000_000L;
+    private static final long SEED = 42L;
+    // Kuantil t-Student 0.9995 (interval kepercayaan 99.9% dua sisi, sama dengan JMH) untuk df 1..30
+    private static final double[] T_999 = {
+            636.619, 31.599, 12.924, 8.610, 6.869, 5.959, 5.408, 5.041, 4.781, 4.587,
+            4.437, 4.318, 4.221, 4.140, 4.073, 4.015, 3.965, 3.922, 3.883, 3.850,
+            3.819, 3.792, 3.768, 3.745, 3.725, 3.707, 3.690, 3.674, 3.659, 3.646
+    };
+    private static final double Z_999 = 3.290527;
+
+    // Blackhole sederhana supaya JIT tidak membuang hasil
+    private static volatile long sink;
+
+    private interface Op {
+        long run() throws Exception;
+    }
+
+    private static class Result {
+        final String name;
+        final String mode;   // "thrpt" (ops/s) atau "avgt" (us/op)
+        final double[] scores;
+
+        Result(String name, String mode, double[] scores) {
+            this.name = name;
+            this.mode = mode;
+            this.scores = scores;
+        }
+
+        double mean() {
+            double sum = 0;
+            for (double s : scores) sum += s;
+            return sum / scores.length;
+        }
+
+        double stdev() {
+            if (scores.length < 2) return 0;
+            double m = mean();
+            double sq = 0;
+            for (double s : scores) sq += (s - m) * (s - m);
+            return Math.sqrt(sq / (scores.length - 1));
+        }
+
+        // Setengah lebar interval kepercayaan 99.9% (t-distribution), sama dengan scoreError JMH
+        double error() {
+            int n = scores.length;
+            if (n < 2) return 0;
+            return tQuantile999(n - 1) * stdev() / Math.sqrt(n);
+        }
+
+        String unit() { return mode.equals("thrpt") ? "ops/s" : "us/op"; }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (System.getProperty("java.awt.headless") == null) System.setProperty("java.awt.headless", "true");
+        String output = args.length > 0 ? args[0] : "bench-results.json";
+        String filter = args.length > 1 ? args[1] : "";
+
+        List<Result> results = new ArrayList<>();
+        BoardLayout layout = BoardLayout.random(new SplittableRandom(SEED));
+
+        // --- 1. Resolusi langkah (pengganti calculatePath + getLadderAt) ---
+        BoardTables tables = new BoardTables(layout);
+        int[] path = new int[GameEngine.MAX_PATH];
+        int[] rolls = new int[4096];
+        SplittableRandom rnd = new SplittableRandom(SEED);
+        for (int i = 0; i < rolls.length; i++) rolls[i] = rnd.nextInt(1, layout.getFinish()) << 4 | rnd.nextInt(6) << 1 | (rnd.nextInt(5) == 0 ? 1 : 0);
+        int[] cursor = {0};
+        run(results, filter, "moveResolution.landing", "thrpt", () -> {
+            int r = rolls[cursor[0]++ & (rolls.length - 1)];
+            return tables.landing(r >>> 4, ((r >>> 1) & 7) + 1, (r & 1) != 0);
+        });
+        run(results, filter, "moveResolution.tracePath", "thrpt", () -> {
+            int r = rolls[cursor[0]++ & (rolls.length - 1)];
+            int pos = r >>> 4;
+            return tables.tracePath(pos, ((r >>> 1) & 7) + 1, (r & 1) != 0, tables.is(pos, BoardTables.PRIME), path);
+        });
+
+        // --- 2. Simulasi game penuh ---
+        GameEngine engine = new GameEngine(new SplittableRandom(SEED));
+        engine.setLayout(layout, tables);
+        run(results, filter, "simulation.game4p", "thrpt", () -> {
+            engine.newGame(4);
+            engine.playGame(GameEngine.BonusPolicy.ALWAYS, 100_000);
+            return engine.getTurnCount();
+        });
+
+        // --- 3. Paint papan ke BufferedImage offscreen ---
+        List<Player> players = samplePlayers();
+        GameBoard board = new GameBoard();
+        board.setSize(board.getPreferredSize());
+        board.setPlayers(players);
+        board.setBoard(layout, tables);
+        BufferedImage image = new BufferedImage(board.getWidth(), board.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        run(results, filter, "render.boardPaint", "avgt", () -> {
+            Graphics2D g2d = image.createGraphics();
+            try {
+                board.paintComponent(g2d);
+            } finally {
+                g2d.dispose();
+            }
+            return image.getRGB(0, 0);
+        });
+
+        // --- 4. Rebuild leaderboard ---
+        Scoreboard scoreboard = new Scoreboard();
+        run(results, filter, "ui.scoreboardUpdate", "avgt", () -> {
+            players.get(0).setPosition(players.get(0).getPosition() % 63 + 1);
+            scoreboard.update(players);
+            return scoreboard.getComponentCount();
+        });
+
+        // --- 5. Latency buka clip WAV (seperti playStepSound) ---
+        File stepSound = new File("Jalan.wav");
+        if (stepSound.exists()) {
+            boolean hasMixer = true;
+            try {
+                AudioSystem.getClip().close();
+            } catch (Exception e) {
+                hasMixer = false;
+            }
+            if (hasMixer) {
+                run(results, filter, "audio.clipOpen", "avgt", () -> {
+                    try (AudioInputStream in = AudioSystem.getAudioInputStream(stepSound)) {
+                        Clip clip = AudioSystem.getClip();
+                        clip.open(in);
+                        long frames = clip.getFrameLength();
+                        clip.close();
+                        return frames;
+                    }
+                });
+            } else {
+                // Tanpa mixer (server headless) hanya bisa ukur baca + decode file
+                run(results, filter, "audio.decodeOnly", "avgt", () -> {
+                    try (AudioInputStream in = AudioSystem.getAudioInputStream(stepSound)) {
+                        return in.readAllBytes().length;
+                    }
+                });
+            }
+        } else {
+            System.out.println("Skipping audio benchmark: Jalan.wav not found");
+        }
+
+        writeJson(results, output);
+        System.out.println("Results written to " + output);
+    }
+
+    private static List<Player> samplePlayers() {
+        Color[] colors = {new Color(231, 76, 60), new Color(52, 152, 219), new Color(241, 196, 15), new Color(155, 89, 182)};
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < colors.length; i++) {
+            Player p = new Player("Player " + (i + 1), colors[i], new PlayerRecord("Player " + (i + 1)));
+            p.setPosition(1 + i * 13);
+            players.add(p);
+        }
+        return players;
+    }
+
+    private static void run(List<Result> results, String filter, String name, String mode, Op op) throws Exception {
+        if (!name.contains(filter)) return;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) iteration(op, mode);
+        double[] scores = new double[MEASURE_ITERATIONS];
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) scores[i] = iteration(op, mode);
+        Result r = new Result(name, mode, scores);
+        results.add(r);
+        System.out.printf(Locale.ROOT, "%-28s %14.3f +- %10.3f %s%n", name, r.mean(), r.error(), r.unit());
+    }
+
+    // Satu iterasi: jalankan op berulang kali selama ITERATION_NANOS
+    private static double iteration(Op op, String mode) throws Exception {
+        long ops = 0;
+        long acc = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            for (int i = 0; i < 64; i++) acc += op.run();
+            ops += 64;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < ITERATION_NANOS);
+        sink = acc;
+        return mode.equals("thrpt") ? ops * 1e9 / elapsed : elapsed / 1e3 / ops;
+    }
+
+    // df > 30: ekspansi Cornish-Fisher dari kuantil normal (selisih < 0.01 dengan nilai eksak)
+    private static double tQuantile999(int df) {
+        if (df <= T_999.length) return T_999[df - 1];
+        double z = Z_999;
+        double z3 = z * z * z;
+        double z5 = z3 * z * z;
+        return z + (z3 + z) / (4.0 * df) + (5 * z5 + 16 * z3 + 3 * z) / (96.0 * df * df);
+    }
+
+    // Format mirip output JSON JMH (-rf json) supaya gampang dibandingkan pakai tool yang sama
+    private static void writeJson(List<Result> results, String output) throws IOException {
+        try (PrintWriter out = new PrintWriter(output, "UTF-8")) {
+            out.println("[");
+            for (int i = 0; i < results.size(); i++) {
+                Result r = results.get(i);
+                out.println("  {");
+                out.println("    \"benchmark\": \"" + r.name + "\",");
+                out.println("    \"mode\": \"" + r.mode + "\",");
+                out.println("    \"jvm\": \"" + System.getProperty("java.vm.name") + " " + System.getProperty("java.version") + "\",");
+                out.println("    \"warmupIterations\": " + WARMUP_ITERATIONS + ",");
+                out.println("    \"measurementIterations\": " + MEASURE_ITERATIONS + ",");
+                out.println("    \"primaryMetric\": {");
+                out.println(String.format(Locale.ROOT, "      \"score\": %.6f,", r.mean()));
+                out.println(String.format(Locale.ROOT, "      \"scoreError\": %.6f,", r.error()));
+                out.println(String.format(Locale.ROOT, "      \"scoreConfidence\": [%.6f, %.6f],",
+                        r.mean() - r.error(), r.mean() + r.error()));
+                out.println("      \"scoreUnit\": \"" + r.unit() + "\",");
+                StringBuilder raw = new StringBuilder();
+                for (int j = 0; j < r.scores.length; j++) {
+                    if (j > 0) raw.append(", ");
+                    raw.append(String.format(Locale.ROOT, "%.6f", r.scores[j]));
+                }
+                out.println("      \"rawData\": [[" + raw + "]]");
+                out.println("    }");
+                out.println(i < results.size() - 1 ? "  }," : "  }");
+            }
+            out.println("]");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+// Susunan papan (ukuran N x N, tangga + bintang) yang immutable, bisa dibagi ke banyak thread / engine
+public class BoardLayout {
+    public static final int DEFAULT_SIZE = 8;
+    public static final int MIN_SIZE = 4;
+    public static final int MAX_SIZE = 1000;
+    // Kepadatan per 64 petak (papan 8x8 klasik)
+    public static final int LADDER_COUNT = 5;
+    public static final int STAR_COUNT = 10;
+
+    private final int size;
+    private final List<Ladder> ladders;
+    private final Set<Integer> starNodes;
+
+    public BoardLayout(List<Ladder> ladders, Set<Integer> starNodes) {
+        this(DEFAULT_SIZE, ladders, starNodes);
+    }
+
+    public BoardLayout(int size, List<Ladder> ladders, Set<Integer> starNodes) {
+        if (size < MIN_SIZE || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Board size must be " + MIN_SIZE + "-" + MAX_SIZE + ": " + size);
+        }
+        this.size = size;
+        this.ladders = Collections.unmodifiableList(new ArrayList<>(ladders));
+        this.starNodes = Collections.unmodifiableSet(new LinkedHashSet<>(starNodes));
+    }
+
+    public static BoardLayout random(RandomGenerator random) {
+        return random(random, DEFAULT_SIZE);
+    }
+
+    // Generator acak (dulu Main.generateLadders + generateScoreNodes). Jumlah tangga / bintang dan
+    // panjang tangga ikut skala papan; untuk 8x8 urutan undiannya sama persis seperti dulu.
+    public static BoardLayout random(RandomGenerator random, int size) {
+        int finish = size * size;
+        int ladderCount = Math.max(1, LADDER_COUNT * finish / 64);
+        int starCount = Math.max(1, STAR_COUNT * finish / 64);
+        int minJump = Math.max(2, 10 * size / DEFAULT_SIZE);
+        int jumpRange = Math.max(1, 16 * size / DEFAULT_SIZE);
+        int startRange = Math.max(1, finish - 15 * size / DEFAULT_SIZE);
+
+        List<Ladder> ladders = new ArrayList<>(ladderCount);
+        BitSet usedPositions = new BitSet(finish + 1);
+        while (ladders.size() < ladderCount) {
+            int startNode = random.nextInt(startRange) + 2;
+            if (usedPositions.get(startNode)) continue;
+            int jump = random.nextInt(jumpRange) + minJump;
+            int endNode = startNode + jump;
+            if (endNode > finish - 1) continue;
+            if (usedPositions.get(endNode)) continue;
+            ladders.add(new Ladder(startNode, endNode));
+            usedPositions.set(startNode);
+            usedPositions.set(endNode);
+        }
+
+        Set<Integer> scoreNodes = new LinkedHashSet<>();
+        while (scoreNodes.size() < starCount) {
+            int node = random.nextInt(finish - 2) + 2;
+            scoreNodes.add(node);
+        }
+        return new BoardLayout(size, ladders, scoreNodes);
+    }
+
+    public int getSize() { return size; }
+    // Petak terakhir (menang) = N * N
+    public int getFinish() { return size * size; }
+    public List<Ladder> getLadders() { return ladders; }
+    public Set<Integer> getStarNodes() { return starNodes; }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if (size != DEFAULT_SIZE) sb.append(size).append('x').append(size).append(" | ");
+        if (ladders.size() > 20) {
+            return sb.append(ladders.size()).append(" ladders | ").append(starNodes.size()).append(" stars").toString();
+        }
+        sb.append("Ladders:");
+        for (Ladder l : ladders) sb.append(' ').append(l.getFrom()).append("->").append(l.getTo());
+        sb.append(" | Stars: ").append(starNodes);
+        return sb.toString();
+    }
+}
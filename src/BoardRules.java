@@ -0,0 +1,85 @@
+import java.util.function.IntPredicate;
+
+// Varian aturan papan (immutable), dikompilasi ke flag per petak oleh BoardTables.
+// STANDARD = aturan asli: bonus roll di kelipatan 5, 20% mundur, tangga hanya dari petak prima.
+// Varian dibuat dengan withX(...) atau parse("bonus=6,backward=0.1,ladders=all").
+public final class BoardRules {
+    public static final BoardRules STANDARD =
+            new BoardRules(GameEngine.BONUS_MODULUS, GameEngine.BACKWARD_CHANCE, null, "prime");
+
+    private final int bonusModulus;
+    private final double backwardChance;
+    // null = petak prima (dihitung dengan sieve, bukan per petak)
+    private final IntPredicate ladderAccess;
+    private final String ladderAccessName;
+
+    private BoardRules(int bonusModulus, double backwardChance, IntPredicate ladderAccess, String ladderAccessName) {
+        if (bonusModulus < 0) throw new IllegalArgumentException("Bonus modulus must be >= 0: " + bonusModulus);
+        if (!(backwardChance >= 0 && backwardChance <= 1)) {
+            throw new IllegalArgumentException("Backward chance must be 0-1: " + backwardChance);
+        }
+        this.bonusModulus = bonusModulus;
+        this.backwardChance = backwardChance;
+        this.ladderAccess = ladderAccess;
+        this.ladderAccessName = ladderAccessName;
+    }
+
+    // 0 = tanpa petak bonus
+    public BoardRules withBonusModulus(int modulus) {
+        return new BoardRules(modulus, backwardChance, ladderAccess, ladderAccessName);
+    }
+
+    public BoardRules withBackwardChance(double chance) {
+        return new BoardRules(bonusModulus, chance, ladderAccess, ladderAccessName);
+    }
+
+    // Petak mana yang boleh naik tangga; dievaluasi sekali per petak saat BoardTables dibuat
+    public BoardRules withLadderAccess(String name, IntPredicate access) {
+        return new BoardRules(bonusModulus, backwardChance, access, name);
+    }
+
+    // "bonus=N,backward=P,ladders=prime|all|none|odd|even", bagian yang tidak disebut tetap STANDARD
+    public static BoardRules parse(String spec) {
+        BoardRules rules = STANDARD;
+        for (String part : spec.split(",")) {
+            part = part.trim();
+            if (part.isEmpty()) continue;
+            int eq = part.indexOf('=');
+            if (eq < 0) throw new IllegalArgumentException("Expected key=value: " + part);
+            String key = part.substring(0, eq).trim();
+            String value = part.substring(eq + 1).trim();
+            switch (key) {
+                case "bonus": rules = rules.withBonusModulus(Integer.parseInt(value)); break;
+                case "backward": rules = rules.withBackwardChance(Double.parseDouble(value)); break;
+                case "ladders":
+                    switch (value) {
+                        case "prime": rules = new BoardRules(rules.bonusModulus, rules.backwardChance, null, "prime"); break;
+                        case "all": rules = rules.withLadderAccess(value, pos -> true); break;
+                        case "none": rules = rules.withLadderAccess(value, pos -> false); break;
+                        case "odd": rules = rules.withLadderAccess(value, pos -> pos % 2 == 1); break;
+                        case "even": rules = rules.withLadderAccess(value, pos -> pos % 2 == 0); break;
+                        default: throw new IllegalArgumentException("Unknown ladder access: " + value);
+                    }
+                    break;
+                default: throw new IllegalArgumentException("Unknown rule: " + key);
+            }
+        }
+        return rules;
+    }
+
+    public int getBonusModulus() { return bonusModulus; }
+    public double getBackwardChance() { return backwardChance; }
+    public boolean isPrimeLadderAccess() { return ladderAccess == null; }
+    public boolean canUseLadder(int pos) {
+        return ladderAccess == null ? GameEngine.isPrime(pos) : ladderAccess.test(pos);
+    }
+
+    public boolean isStandard() {
+        return bonusModulus == GameEngine.BONUS_MODULUS && backwardChance == GameEngine.BACKWARD_CHANCE && ladderAccess == null;
+    }
+
+    @Override
+    public String toString() {
+        return "bonus=" + bonusModulus + ",backward=" + backwardChance + ",ladders=" + ladderAccessName;
+    }
+}
@@ -0,0 +1,148 @@
+// Papan yang sudah "dikompilasi" jadi tabel primitif, dibuat sekali per game.
+// Resolusi langkah = satu baca array, tanpa alokasi, tanpa scan list tangga,
+// tanpa hitung isPrime ulang. Jalur lengkap (untuk animasi UI) tetap bisa dibuat on demand.
+// Papan besar (sampai 1000x1000) hanya menyimpan atribut per petak; langkah dihitung
+// saat dibutuhkan supaya tabel tidak membengkak.
+// Varian aturan (BoardRules) ikut dikompilasi ke flag: renderer, engine, dan simulator cukup baca flag.
+public class BoardTables {
+    // Bit atribut per petak
+    public static final int PRIME = 1;        // boleh naik tangga (aturan standar: petak prima)
+    public static final int BONUS = 1 << 1;   // bonus roll (kelipatan modulus bonus, bukan finish)
+    public static final int STAR = 1 << 2;    // petak skor
+    public static final int LADDER_FOOT = 1 << 3;
+    public static final int LADDER_HEAD = 1 << 4;
+
+    // Di atas ini (64x64) tabel landing tidak dibuat
+    private static final int PRECOMPUTE_MAX_CELLS = 1 << 12;
+
+    private final BoardRules rules;
+    private final int size;
+    private final int finish;
+    private final int[] ladderTo;
+    private final byte[] flags;
+    // Index: ((pos * 6) + (dice - 1)) * 2 + backward, akses tangga = petak awal prima
+    private final char[] landing;
+    private final byte[] starHits;
+
+    public BoardTables(BoardLayout layout) {
+        this(layout, BoardRules.STANDARD);
+    }
+
+    public BoardTables(BoardLayout layout, BoardRules rules) {
+        this.rules = rules;
+        size = layout.getSize();
+        finish = layout.getFinish();
+        ladderTo = new int[finish + 1];
+        flags = new byte[finish + 1];
+        for (Ladder l : layout.getLadders()) {
+            ladderTo[l.getFrom()] = l.getTo();
+            flags[l.getFrom()] |= LADDER_FOOT;
+            flags[l.getTo()] |= LADDER_HEAD;
+        }
+        for (int node : layout.getStarNodes()) flags[node] |= STAR;
+        if (rules.isPrimeLadderAccess()) {
+            markPrimes();
+        } else {
+            for (int pos = 1; pos <= finish; pos++) if (rules.canUseLadder(pos)) flags[pos] |= PRIME;
+        }
+        int modulus = rules.getBonusModulus();
+        if (modulus > 0) for (int pos = modulus; pos < finish; pos += modulus) flags[pos] |= BONUS;
+
+        if (finish > PRECOMPUTE_MAX_CELLS) {
+            landing = null;
+            starHits = null;
+            return;
+        }
+        landing = new char[(finish + 1) * 6 * 2];
+        starHits = new byte[landing.length];
+        for (int pos = 1; pos <= finish; pos++) {
+            for (int dice = 1; dice <= 6; dice++) {
+                for (int back = 0; back < 2; back++) {
+                    int resolved = walk(pos, dice, back == 1);
+                    int idx = index(pos, dice, back == 1);
+                    landing[idx] = (char) (resolved >>> 4);
+                    starHits[idx] = (byte) (resolved & 0xF);
+                }
+            }
+        }
+    }
+
+    // Sieve sekali untuk semua petak (papan 1000x1000 = sejuta petak)
+    private void markPrimes() {
+        boolean[] composite = new boolean[finish + 1];
+        for (int i = 2; i <= finish; i++) {
+            if (composite[i]) continue;
+            flags[i] |= PRIME;
+            for (long j = (long) i * i; j <= finish; j += i) composite[(int) j] = true;
+        }
+    }
+
+    private static int index(int pos, int dice, boolean isBackward) {
+        return (pos * 6 + (dice - 1)) * 2 + (isBackward ? 1 : 0);
+    }
+
+    // --- LOOKUP (hot path) ---
+
+    public int landing(int pos, int dice, boolean isBackward) {
+        if (landing == null) return walk(pos, dice, isBackward) >>> 4;
+        return landing[index(pos, dice, isBackward)];
+    }
+
+    public int starHits(int pos, int dice, boolean isBackward) {
+        if (starHits == null) return walk(pos, dice, isBackward) & 0xF;
+        return starHits[index(pos, dice, isBackward)];
+    }
+
+    // Aturan yang sama dengan tracePath tanpa menyimpan jalur: return (landing << 4) | bintang
+    private int walk(int pos, int dice, boolean isBackward) {
+        boolean canUseLadder = (flags[pos] & PRIME) != 0;
+        int currentPos = pos;
+        int hits = 0;
+        for (int step = 0; step < dice; step++) {
+            if (isBackward) {
+                if (--currentPos < 1) { currentPos = 1; break; }
+            } else {
+                if (++currentPos > finish) { currentPos = finish; break; }
+            }
+            if ((flags[currentPos] & STAR) != 0) hits++;
+            if (!isBackward && canUseLadder && ladderTo[currentPos] != 0) {
+                currentPos = ladderTo[currentPos];
+                if ((flags[currentPos] & STAR) != 0) hits++;
+            }
+        }
+        return currentPos << 4 | hits;
+    }
+
+    public BoardRules getRules() { return rules; }
+    public int getSize() { return size; }
+    public int getFinish() { return finish; }
+    public int flags(int pos) { return flags[pos]; }
+    public boolean is(int pos, int flag) { return (flags[pos] & flag) != 0; }
+    public int ladderTo(int pos) { return ladderTo[pos]; }
+
+    // Jalur langkah demi langkah (aturan asli calculatePath), ditulis ke 'out'. Return panjangnya.
+    public int tracePath(int startPos, int steps, boolean isBackward, boolean canUseLadder, int[] out) {
+        int length = 0;
+        int currentPos = startPos;
+        int stepsRemaining = steps;
+
+        while (stepsRemaining > 0) {
+            if (isBackward) {
+                currentPos--;
+                if (currentPos < 1) { currentPos = 1; break; }
+            } else {
+                currentPos++;
+                if (currentPos > finish) { currentPos = finish; break; }
+            }
+
+            out[length++] = currentPos;
+            stepsRemaining--;
+
+            if (!isBackward && canUseLadder && ladderTo[currentPos] != 0) {
+                currentPos = ladderTo[currentPos];
+                out[length++] = currentPos;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,192 @@
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+// Keputusan bonus roll optimal (memaksimalkan peluang menang), dihitung sekali per layout saat game dimulai.
+//
+// Karena pemain tidak saling mempengaruhi, peluang menang hanya tergantung kapan kita finish dibanding lawan.
+// Untuk setiap posisi lawan, dynamic programming mundur per giliran:
+//   nilai(r, pos) = peluang menang kalau kita di 'pos' pada giliran ke-r (dihitung dari sekarang),
+//   finish di giliran r menang jika lawan belum finish dalam r-1 gilirannya (lawan selalu ambil bonus).
+// Di petak bonus dibandingkan "roll lagi di giliran ini" vs "berhenti, lanjut giliran r+1".
+// Hasil yang disimpan hanya keputusan giliran sekarang: 1 bit per (petak bonus, posisi lawan),
+// jadi bot cukup satu lookup. Dengan 3-4 pemain yang dipakai lawan terdepan (sisa giliran terkecil).
+public class BonusPolicyTable implements GameEngine.BonusPolicy {
+    // Distribusi finish lawan dihitung sampai peluang belum finish < epsilon
+    private static final int MAX_HORIZON = 4096;
+    private static final double SURVIVAL_EPSILON = 1e-9;
+    private static final int MAX_BONUS_ITERATIONS = 200;
+    private static final double BONUS_EPSILON = 1e-13;
+
+    private final int finish;
+    // Bit (pos * (finish + 1) + lawan) = 1 -> roll lagi
+    private final long[] rollAgain;
+    // Ekspektasi sisa giliran dari tiap posisi, untuk memilih lawan terdepan
+    private final double[] expectedRemaining;
+
+    private BonusPolicyTable(int finish, long[] rollAgain, double[] expectedRemaining) {
+        this.finish = finish;
+        this.rollAgain = rollAgain;
+        this.expectedRemaining = expectedRemaining;
+    }
+
+    public static boolean supports(BoardLayout layout) {
+        return MarkovAnalyzer.supports(layout);
+    }
+
+    // Bisa dibatalkan lewat interrupt (dicek per posisi lawan): lempar CancellationException
+    public static BonusPolicyTable compute(BoardTables tables) {
+        int finish = tables.getFinish();
+        double[][] turn = MarkovAnalyzer.turnMatrix(tables, true);
+
+        // --- 1. CDF finish lawan per posisi awal: done[m][pos] = P(finish dalam <= m giliran) ---
+        // Baris matrix dibuat sparse dulu (tiap baris hanya belasan tujuan)
+        int[][] cols = new int[finish + 1][];
+        double[][] vals = new double[finish + 1][];
+        for (int pos = 1; pos < finish; pos++) {
+            double[] row = turn[pos - 1];
+            int nnz = 0;
+            for (double v : row) if (v != 0) nnz++;
+            cols[pos] = new int[nnz];
+            vals[pos] = new double[nnz];
+            int idx = 0;
+            for (int c = 0; c < finish; c++) {
+                if (row[c] != 0) {
+                    cols[pos][idx] = c + 1;
+                    vals[pos][idx++] = row[c];
+                }
+            }
+        }
+        double[][] done = new double[MAX_HORIZON + 1][];
+        done[0] = new double[finish + 1];
+        done[0][finish] = 1;
+        double[] expectedRemaining = new double[finish + 1];
+        int horizon = 0;
+        while (horizon < MAX_HORIZON) {
+            double[] prev = done[horizon];
+            double[] next = new double[finish + 1];
+            next[finish] = 1;
+            double maxSurvival = 0;
+            for (int pos = 1; pos < finish; pos++) {
+                expectedRemaining[pos] += 1 - prev[pos];
+                double sum = 0;
+                int[] c = cols[pos];
+                double[] v = vals[pos];
+                for (int j = 0; j < c.length; j++) sum += v[j] * prev[c[j]];
+                next[pos] = sum;
+                maxSurvival = Math.max(maxSurvival, 1 - sum);
+            }
+            done[++horizon] = next;
+            if (maxSurvival < SURVIVAL_EPSILON) break;
+        }
+
+        // --- 2. Hasil satu roll dari tiap petak (12 kemungkinan) ---
+        int[] landing = new int[(finish + 1) * 12];
+        double[] prob = new double[12];
+        double backward = tables.getRules().getBackwardChance();
+        for (int dice = 1; dice <= 6; dice++) {
+            prob[(dice - 1) * 2] = (1 - backward) / 6;
+            prob[(dice - 1) * 2 + 1] = backward / 6;
+        }
+        for (int pos = 1; pos < finish; pos++) {
+            for (int dice = 1; dice <= 6; dice++) {
+                landing[pos * 12 + (dice - 1) * 2] = tables.landing(pos, dice, false);
+                landing[pos * 12 + (dice - 1) * 2 + 1] = tables.landing(pos, dice, true);
+            }
+        }
+        int bonusCount = 0;
+        int[] bonusCells = new int[finish];
+        for (int pos = 1; pos < finish; pos++) {
+            if (tables.is(pos, BoardTables.BONUS)) bonusCells[bonusCount++] = pos;
+        }
+
+        // --- 3. DP mundur per posisi lawan ---
+        long[] bits = new long[((finish + 1) * (finish + 1) + 63) >>> 6];
+        double[] later = new double[finish + 1];  // nilai di awal giliran r+1
+        double[] now = new double[finish + 1];    // nilai di awal giliran r (= satu roll)
+        for (int opponent = 1; opponent < finish; opponent++) {
+            if (Thread.currentThread().isInterrupted()) throw new CancellationException("Bonus policy cancelled");
+            Arrays.fill(later, 0);
+            for (int r = horizon + 1; r >= 1; r--) {
+                // Finish di giliran r menang kalau lawan belum finish dalam r-1 gilirannya
+                double win = r - 1 <= horizon ? 1 - done[r - 1][opponent] : 0;
+                // Petak bonus saling bergantung dalam satu giliran (mundur 5 lalu maju 5), iterasi sampai stabil
+                for (int b = 0; b < bonusCount; b++) now[bonusCells[b]] = 0;
+                for (int iter = 0; iter < MAX_BONUS_ITERATIONS; iter++) {
+                    double change = 0;
+                    for (int b = 0; b < bonusCount; b++) {
+                        int pos = bonusCells[b];
+                        double v = rollValue(pos, landing, prob, finish, win, now, later, tables);
+                        change = Math.max(change, Math.abs(v - now[pos]));
+                        now[pos] = v;
+                    }
+                    if (change < BONUS_EPSILON) break;
+                }
+                for (int pos = 1; pos < finish; pos++) {
+                    if (!tables.is(pos, BoardTables.BONUS)) {
+                        now[pos] = rollValue(pos, landing, prob, finish, win, now, later, tables);
+                    }
+                }
+                if (r == 1) {
+                    // Keputusan giliran sekarang: roll lagi jika tidak lebih buruk dari berhenti
+                    for (int b = 0; b < bonusCount; b++) {
+                        int pos = bonusCells[b];
+                        if (now[pos] >= later[pos]) {
+                            int bit = pos * (finish + 1) + opponent;
+                            bits[bit >>> 6] |= 1L << bit;
+                        }
+                    }
+                }
+                double[] tmp = later; later = now; now = tmp;
+            }
+        }
+        return new BonusPolicyTable(finish, bits, expectedRemaining);
+    }
+
+    // Nilai satu roll dari 'pos' di giliran r
+    private static double rollValue(int pos, int[] landing, double[] prob, int finish, double win,
+                                    double[] now, double[] later, BoardTables tables) {
+        double value = 0;
+        int base = pos * 12;
+        for (int o = 0; o < 12; o++) {
+            int to = landing[base + o];
+            double v;
+            if (to == finish) v = win;
+            else if (tables.is(to, BoardTables.BONUS)) v = Math.max(now[to], later[to]);
+            else v = later[to];
+            value += prob[o] * v;
+        }
+        return value;
+    }
+
+    // --- LOOKUP ---
+
+    public boolean rollAgain(int pos, int opponentPos) {
+        if (pos < 1 || pos >= finish || opponentPos < 1 || opponentPos >= finish) return true;
+        int bit = pos * (finish + 1) + opponentPos;
+        return (rollAgain[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    // positions[0..count-1] = posisi semua kursi, seat = yang sedang memutuskan
+    public boolean rollAgain(int[] positions, int count, int seat) {
+        int lead = -1;
+        for (int i = 0; i < count; i++) {
+            if (i == seat) continue;
+            if (lead < 0 || expectedRemaining[positions[i]] < expectedRemaining[lead]) lead = positions[i];
+        }
+        // Main sendiri: tidak ada yang dikejar, roll lagi tidak pernah merugikan
+        if (lead < 0) return true;
+        return rollAgain(positions[seat], lead);
+    }
+
+    @Override
+    public boolean rollAgain(GameEngine engine, int seat) {
+        int lead = -1;
+        for (int i = 0; i < engine.getPlayerCount(); i++) {
+            if (i == seat) continue;
+            int pos = engine.getPosition(i);
+            if (lead < 0 || expectedRemaining[pos] < expectedRemaining[lead]) lead = pos;
+        }
+        if (lead < 0) return true;
+        return rollAgain(engine.getPosition(seat), lead);
+    }
+}
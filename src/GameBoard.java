@@ -1,158 +1,410 @@
 import javax.swing.*;
 import java.awt.*;
-import java.awt.geom.Path2D;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
-import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 
+// Papan N x N (sampai 1000x1000) di dalam JScrollPane. Semua penggambaran dibatasi ke area
+// yang terlihat: hanya petak, tangga (lewat index spasial) dan token yang memotong clip.
 public class GameBoard extends JPanel {
-    private static final int BOARD_SIZE = 8;
-    private static final int CELL_SIZE = 90;
+    static final int CELL_SIZE = 90;
     private static final int PADDING = 30;
+    // Cache layer statis = viewport + margin ini, supaya scroll kecil tidak render ulang
+    private static final int CACHE_MARGIN = CELL_SIZE * 2;
+    // Batas sisi image cache (logical px); papan 8x8 (780 px) selalu di-cache utuh
+    private static final int MAX_CACHE_SIDE = 2400;
 
+    private int boardSize;
+    private BoardTables tables;
     private List<Player> players;
-    private List<Ladder> ladders;
+    private LadderIndex ladderIndex;
     private Ladder highlightLadder;
-    private Set<Integer> starNodes; // Node yang ada Bintang (Score)
+
+    // Layer statis (cell, angka, bintang, tangga) di-render sekali lalu di-cache.
+    // Per frame tinggal blit layer ini + highlight + token.
+    // Cache hanya mencakup staticRegion (area viewport), bukan seluruh papan.
+    private VolatileImage staticLayer;
+    private BufferedImage staticFallback; // dipakai kalau tidak ada GraphicsConfiguration (offscreen/headless)
+    private final Rectangle staticRegion = new Rectangle();
+    private double staticScale;
+    private boolean staticDirty = true;
+
+    // Dirty region: posisi token yang terakhir digambar, digabung per frame jadi satu repaint(Rectangle)
+    private int[] paintedPositions = new int[0];
+    private final Rectangle dirtyRegion = new Rectangle();
+    private boolean repaintScheduled;
+
+    // Token yang sedang bergerak (index pemain -> titik kiri-atas petak, boleh di antara dua petak)
+    private Point2D.Double[] tokenMotion = new Point2D.Double[0];
+    // Waktu paint dilaporkan ke clock animasi (statistik per frame)
+    private AnimationClock clock;
 
     // Palette Warna
     private final Color COLOR_BG = new Color(30, 40, 50);
-    private final Color COLOR_CELL_A = new Color(245, 245, 245);
-    private final Color COLOR_CELL_B = new Color(225, 225, 225);
-    private final Color COLOR_PRIME_FILL = new Color(240, 230, 255); // Lavender (Ladder Access)
-    private final Color COLOR_BONUS_FILL = new Color(255, 250, 200); // Kuning (Bonus Dice)
-    private final Color COLOR_TEXT = new Color(60, 60, 60);
+    // Petak, angka, label, bintang & token di-blit dari atlas skala device sekarang
+    private SpriteAtlas atlas;
+
+    // Stroke & warna tangga dipakai ulang (dulu dibuat baru tiap gambar)
+    private static final Color LADDER_HIGHLIGHT = new Color(46, 204, 113, 150);
+    private static final Color LADDER_SHADOW = new Color(0, 0, 0, 60);
+    private static final Color LADDER_RAIL = new Color(101, 67, 33);
+    private static final Color LADDER_RAIL_SHINE = new Color(160, 82, 45);
+    private static final Color LADDER_RUNG = new Color(139, 69, 19);
+    private static final Color LADDER_BOLT = new Color(205, 133, 63);
+    private static final BasicStroke STROKE_HIGHLIGHT = new BasicStroke(35, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    private static final BasicStroke STROKE_SHADOW = new BasicStroke(9);
+    private static final BasicStroke STROKE_RAIL = new BasicStroke(9, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    private static final BasicStroke STROKE_RAIL_SHINE = new BasicStroke(4);
+    private static final BasicStroke STROKE_RUNG = new BasicStroke(7);
+    // Jarak rail dari garis tengah tangga; bayangan digeser (6, 6)
+    private static final int LADDER_HALF_WIDTH = 15;
+    private static final int LADDER_SHADOW_OFFSET = 6;
+    // Jangkauan gambar tangga dari garis tengah per sumbu, tanpa bayangan:
+    // rail 15 + setengah stroke 4.5, glow highlight 17.5, dibulatkan ke atas dengan sisa antialias
+    private static final int LADDER_MARGIN = 24;
+    // Jarak tegak lurus terjauh termasuk bayangan: 19.5 + 6 * sqrt(2) = ~28 <= margin + geser bayangan
+    private static final int LADDER_REACH = LADDER_MARGIN + LADDER_SHADOW_OFFSET;
 
     public GameBoard() {
         players = new ArrayList<>();
-        ladders = new ArrayList<>();
-        starNodes = new HashSet<>();
-        setPreferredSize(new Dimension(
-                BOARD_SIZE * CELL_SIZE + PADDING * 2,
-                BOARD_SIZE * CELL_SIZE + PADDING * 2
-        ));
         setBackground(COLOR_BG);
+        BoardLayout empty = new BoardLayout(List.of(), Set.of());
+        setBoard(empty, new BoardTables(empty));
+    }
+
+    public void setPlayers(List<Player> players) {
+        this.players = players;
+        tokenMotion = new Point2D.Double[players.size()];
+        rememberTokenPositions();
+        repaint();
+    }
+
+    public void setAnimationClock(AnimationClock clock) { this.clock = clock; }
+
+    // Gambar token di antara petak 'from' dan 'to' (t = 0..1). Tangga = garis lurus antar pusat petak,
+    // jadi interpolasi yang sama sekaligus menggerakkan token menyusuri tangga.
+    public void moveToken(Player player, int from, int to, double t) {
+        int index = players.indexOf(player);
+        Point a = getCoordinatesForPosition(from);
+        Point b = getCoordinatesForPosition(to);
+        if (index < 0 || a == null || b == null) return;
+        Point2D.Double at = tokenMotion[index];
+        if (at != null) addDirtyRegion(getTokenBounds(at.x, at.y, index));
+        else addDirtyRegion(getCellBounds(paintedPositions[index]));
+        at = new Point2D.Double(a.x + (b.x - a.x) * t, a.y + (b.y - a.y) * t);
+        tokenMotion[index] = at;
+        addDirtyRegion(getTokenBounds(at.x, at.y, index));
+    }
+
+    // Token kembali digambar di petak posisinya (setelah animasi selesai)
+    public void settleToken(Player player) {
+        int index = players.indexOf(player);
+        if (index < 0 || tokenMotion[index] == null) return;
+        Point2D.Double at = tokenMotion[index];
+        addDirtyRegion(getTokenBounds(at.x, at.y, index));
+        tokenMotion[index] = null;
+        addDirtyRegion(getCellBounds(player.getPosition()));
+    }
+
+    // Tabel dipakai bersama dengan GameEngine (atribut prima / bonus / bintang per petak)
+    public void setBoard(BoardLayout layout, BoardTables tables) {
+        this.tables = tables;
+        if (tables.getSize() != boardSize) {
+            boardSize = tables.getSize();
+            int side = boardSize * CELL_SIZE + PADDING * 2;
+            setPreferredSize(new Dimension(side, side));
+            revalidate();
+        }
+        ladderIndex = new LadderIndex(layout.getLadders());
+        highlightLadder = null;
+        invalidateStaticLayer();
+    }
+
+    // Scroll supaya petak ini terlihat (papan besar: ikuti token yang sedang jalan)
+    public void revealPosition(int position) {
+        Rectangle cell = getCellBounds(position);
+        if (cell != null && !getVisibleRect().contains(cell)) scrollRectToVisible(cell);
+    }
+
+    public void setHighlightLadder(Ladder ladder) {
+        if (ladder == highlightLadder) return;
+        if (highlightLadder != null) addDirtyRegion(getLadderBounds(highlightLadder));
+        this.highlightLadder = ladder;
+        if (ladder != null) addDirtyRegion(getLadderBounds(ladder));
     }
 
-    public void setPlayers(List<Player> players) { this.players = players; }
-    public void setLadders(List<Ladder> ladders) { this.ladders = ladders; repaint(); }
-    public void setHighlightLadder(Ladder ladder) { this.highlightLadder = ladder; repaint(); }
-    public void setStarNodes(Set<Integer> stars) { this.starNodes = stars; repaint(); }
+    // Dipanggil setelah posisi pemain berubah: hanya petak lama & baru yang di-repaint
+    public void refreshTokens() {
+        if (paintedPositions.length != players.size()) {
+            rememberTokenPositions();
+            repaint();
+            return;
+        }
+        for (int i = 0; i < paintedPositions.length; i++) {
+            int pos = players.get(i).getPosition();
+            if (pos == paintedPositions[i]) continue;
+            addDirtyRegion(getCellBounds(paintedPositions[i]));
+            addDirtyRegion(getCellBounds(pos));
+            paintedPositions[i] = pos;
+        }
+    }
 
-    // Logic Prime untuk Ladder Access
-    private boolean isPrime(int n) {
-        if (n <= 1) return false;
-        if (n <= 3) return true;
-        if (n % 2 == 0 || n % 3 == 0) return false;
-        for (int i = 5; i * i <= n; i += 6) {
-            if (n % i == 0 || n % (i + 2) == 0) return false;
+    private void rememberTokenPositions() {
+        paintedPositions = new int[players.size()];
+        for (int i = 0; i < paintedPositions.length; i++) paintedPositions[i] = players.get(i).getPosition();
+    }
+
+    // Kumpulkan area kotor; beberapa update dalam satu event digabung jadi satu repaint
+    private void addDirtyRegion(Rectangle r) {
+        if (r == null) return;
+        if (dirtyRegion.isEmpty()) dirtyRegion.setBounds(r);
+        else dirtyRegion.add(r);
+        // Board offscreen (ReplayExporter) tidak punya layar: region diambil lewat takeDirtyRegion
+        if (!repaintScheduled && isDisplayable()) {
+            repaintScheduled = true;
+            SwingUtilities.invokeLater(this::flushDirtyRegion);
         }
-        return true;
+    }
+
+    // Render offscreen: area yang berubah sejak pemanggilan terakhir (kosong = tidak ada)
+    public Rectangle takeDirtyRegion() {
+        Rectangle r = new Rectangle(dirtyRegion);
+        dirtyRegion.setBounds(0, 0, 0, 0);
+        return r;
+    }
+
+    private void flushDirtyRegion() {
+        repaintScheduled = false;
+        if (dirtyRegion.isEmpty()) return;
+        repaint(dirtyRegion.x, dirtyRegion.y, dirtyRegion.width, dirtyRegion.height);
+        dirtyRegion.setBounds(0, 0, 0, 0);
+    }
+
+    // Kotak token (ukuran 36 + bayangan 3 + outline) kalau petaknya di (x, y)
+    private Rectangle getTokenBounds(double x, double y, int index) {
+        int offset = (index * 6) - 10;
+        int px = (int) Math.floor(x) + CELL_SIZE/2 - 18 + offset;
+        int py = (int) Math.floor(y) + CELL_SIZE/2 - 22 + offset;
+        return new Rectangle(px - 2, py - 2, 44, 44);
+    }
+
+    // Token selalu berada di dalam petaknya (offset -10..8, ukuran 36 + bayangan)
+    private Rectangle getCellBounds(int position) {
+        Point p = getCoordinatesForPosition(position);
+        if (p == null) return null;
+        return new Rectangle(p.x, p.y, CELL_SIZE, CELL_SIZE);
+    }
+
+    // Kotak pembatas tangga termasuk glow highlight dan bayangan (LADDER_MARGIN + geser bayangan)
+    private Rectangle getLadderBounds(Ladder ladder) {
+        Point p1 = getCoordinatesForPosition(ladder.getFrom());
+        Point p2 = getCoordinatesForPosition(ladder.getTo());
+        if (p1 == null || p2 == null) return null;
+        Rectangle r = new Rectangle(p1.x + CELL_SIZE/2, p1.y + CELL_SIZE/2, 0, 0);
+        r.add(p2.x + CELL_SIZE/2, p2.y + CELL_SIZE/2);
+        r.grow(LADDER_MARGIN, LADDER_MARGIN);
+        r.width += LADDER_SHADOW_OFFSET;
+        r.height += LADDER_SHADOW_OFFSET;
+        return r;
+    }
+
+    private void invalidateStaticLayer() {
+        staticDirty = true;
+        repaint();
     }
 
     @Override
     protected void paintComponent(Graphics g) {
+        long start = System.nanoTime();
+        GameEvents.PaintEvent event = new GameEvents.PaintEvent();
+        event.begin();
         super.paintComponent(g);
         Graphics2D g2d = (Graphics2D) g;
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
 
-        int nodeNumber = 64;
-        for (int row = 0; row < BOARD_SIZE; row++) {
-            for (int col = 0; col < BOARD_SIZE; col++) {
-                int x, y;
-                y = PADDING + row * CELL_SIZE;
-
-                if (row % 2 == 0) x = PADDING + (BOARD_SIZE - 1 - col) * CELL_SIZE;
-                else x = PADDING + col * CELL_SIZE;
+        Rectangle clip = g2d.getClipBounds();
+        if (clip == null) clip = new Rectangle(getPreferredSize());
+        boolean staticRendered = drawStaticLayer(g2d, clip);
 
-                // --- 1. GAMBAR CELL ---
-                Shape cellShape = new RoundRectangle2D.Double(x + 4, y + 4, CELL_SIZE - 8, CELL_SIZE - 8, 15, 15);
-
-                Color baseColor;
-                if (isPrime(nodeNumber)) baseColor = COLOR_PRIME_FILL; // Prime = Ladder Potential
-                else if ((row + col) % 2 == 0) baseColor = COLOR_CELL_A;
-                else baseColor = COLOR_CELL_B;
+        // Highlight: glow di bawah, lalu tangganya digambar ulang di atas glow
+        if (highlightLadder != null) {
+            Rectangle bounds = getLadderBounds(highlightLadder);
+            if (bounds != null && bounds.intersects(clip)) {
+                drawLadderHighlight(g2d, highlightLadder);
+                drawRealisticLadder(g2d, highlightLadder);
+            }
+        }
+        SpriteAtlas atlas = atlasFor(g2d.getTransform().getScaleX());
+        for (int i = 0; i < players.size(); i++) {
+            Point2D.Double at = i < tokenMotion.length ? tokenMotion[i] : null;
+            if (at != null) {
+                if (getTokenBounds(at.x, at.y, i).intersects(clip)) drawPlayerToken(g2d, atlas, players.get(i), i, at.x, at.y);
+                continue;
+            }
+            Point cell = getCoordinatesForPosition(players.get(i).getPosition());
+            if (cell != null && getTokenBounds(cell.x, cell.y, i).intersects(clip)) {
+                drawPlayerToken(g2d, atlas, players.get(i), i, cell.x, cell.y);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (clock != null) clock.recordPaint(elapsed);
+        Metrics.PAINT.record(elapsed);
+        event.end();
+        if (event.shouldCommit()) {
+            event.width = clip.width;
+            event.height = clip.height;
+            event.area = (long) clip.width * clip.height;
+            event.staticRendered = staticRendered;
+            event.commit();
+        }
+    }
 
-                if (nodeNumber % 5 == 0 && nodeNumber != 64) baseColor = COLOR_BONUS_FILL;
+    // Blit layer statis, render ulang hanya jika layout berubah / isi VolatileImage hilang /
+    // area yang perlu digambar keluar dari region yang di-cache (scroll jauh).
+    // Return true jika cache dirender ulang di paint ini.
+    private boolean drawStaticLayer(Graphics2D g2d, Rectangle clip) {
+        Rectangle board = new Rectangle(getPreferredSize());
+        Rectangle needed = clip.intersection(board);
+        if (needed.isEmpty()) return false;
+        boolean rendered = false;
+        double scale = g2d.getTransform().getScaleX();
+        if (scale != staticScale) {
+            staticScale = scale;
+            staticDirty = true;
+        }
+        if (!staticRegion.contains(needed)) {
+            // Viewport + margin; tanpa viewport (render offscreen) cukup di sekitar clip
+            Rectangle region = getParent() instanceof JViewport ? getVisibleRect() : new Rectangle(needed);
+            region.grow(CACHE_MARGIN, CACHE_MARGIN);
+            region = region.intersection(board);
+            region.add(needed);
+            if (region.width > MAX_CACHE_SIDE) {
+                region.x = Math.max(region.x, Math.min(needed.x - CACHE_MARGIN, needed.x + needed.width - MAX_CACHE_SIDE));
+                region.width = Math.max(needed.x + needed.width - region.x, Math.min(region.width, MAX_CACHE_SIDE));
+            }
+            if (region.height > MAX_CACHE_SIDE) {
+                region.y = Math.max(region.y, Math.min(needed.y - CACHE_MARGIN, needed.y + needed.height - MAX_CACHE_SIDE));
+                region.height = Math.max(needed.y + needed.height - region.y, Math.min(region.height, MAX_CACHE_SIDE));
+            }
+            staticRegion.setBounds(region.intersection(board));
+            staticDirty = true;
+        }
+        Rectangle r = staticRegion;
+        int w = (int) Math.ceil(r.width * scale);
+        int h = (int) Math.ceil(r.height * scale);
 
-                GradientPaint gp = new GradientPaint(x, y, baseColor, x + CELL_SIZE, y + CELL_SIZE, baseColor.darker());
-                g2d.setPaint(gp);
-                g2d.fill(cellShape);
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (gc == null) {
+            // Image hanya dibuat ulang kalau terlalu kecil (region berubah ukuran sedikit saat scroll di tepi)
+            if (staticFallback == null || staticFallback.getWidth() < w || staticFallback.getHeight() < h) {
+                staticFallback = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+                staticDirty = true;
+            }
+            if (staticDirty) {
+                renderStaticLayer(staticFallback.createGraphics(), scale, r);
+                staticDirty = false;
+                rendered = true;
+            }
+            g2d.drawImage(staticFallback, r.x, r.y, r.x + r.width, r.y + r.height, 0, 0, w, h, null);
+            return rendered;
+        }
 
-                g2d.setColor(new Color(0,0,0,40));
-                g2d.setStroke(new BasicStroke(1.5f));
-                g2d.draw(cellShape);
+        do {
+            if (staticLayer == null || staticLayer.getWidth() < w || staticLayer.getHeight() < h) {
+                staticLayer = gc.createCompatibleVolatileImage(w, h);
+                staticDirty = true;
+            }
+            int status = staticLayer.validate(gc);
+            if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                staticLayer = gc.createCompatibleVolatileImage(w, h);
+                staticDirty = true;
+            } else if (status == VolatileImage.IMAGE_RESTORED) {
+                staticDirty = true;
+            }
+            if (staticDirty) {
+                renderStaticLayer(staticLayer.createGraphics(), scale, r);
+                staticDirty = false;
+                rendered = true;
+            }
+            g2d.drawImage(staticLayer, r.x, r.y, r.x + r.width, r.y + r.height, 0, 0, w, h, null);
+        } while (staticLayer.contentsLost());
+        return rendered;
+    }
 
-                // --- 2. KONTEN CELL ---
-                if (nodeNumber == 64) drawLabelCenter(g2d, x, y, "FINISH", new Color(231, 76, 60));
-                else if (nodeNumber == 1) drawLabelCenter(g2d, x, y, "START", new Color(46, 204, 113));
-                else {
-                    g2d.setFont(new Font("Segoe UI", Font.BOLD, 24));
-                    g2d.setColor(COLOR_TEXT);
-                    g2d.drawString(String.valueOf(nodeNumber), x + 15, y + 35);
+    private SpriteAtlas atlasFor(double scale) {
+        if (atlas == null || atlas.getScale() != scale) atlas = SpriteAtlas.forScale(scale);
+        return atlas;
+    }
 
-                    // GAMBAR BINTANG HANYA JIKA ADA DI SET SCORE NODES
-                    if (starNodes.contains(nodeNumber)) {
-                        drawShinyStar(g2d, x + CELL_SIZE - 30, y + 25, 12, 24);
-                    }
-
-                    if (nodeNumber % 5 == 0) {
-                        g2d.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 26));
-                        g2d.drawString("🎲", x + CELL_SIZE - 38, y + CELL_SIZE - 15);
-                    }
-                }
-                nodeNumber--;
-            }
+    private void renderStaticLayer(Graphics2D g2d, double scale, Rectangle region) {
+        try {
+            g2d.setColor(COLOR_BG);
+            g2d.fillRect(0, 0, Integer.MAX_VALUE, Integer.MAX_VALUE);
+            g2d.transform(AffineTransform.getScaleInstance(scale, scale));
+            g2d.translate(-region.x, -region.y);
+            g2d.clip(region);
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            drawCells(g2d, region, atlasFor(scale));
+            for (Ladder ladder : ladderIndex.query(region)) drawRealisticLadder(g2d, ladder);
+        } finally {
+            g2d.dispose();
         }
-
-        for (Ladder ladder : ladders) drawRealisticLadder(g2d, ladder);
-        for (int i = 0; i < players.size(); i++) drawPlayerToken(g2d, players.get(i), i);
     }
 
-    private void drawShinyStar(Graphics2D g2d, double cx, double cy, double innerRadius, double outerRadius) {
-        Shape star = createStarShape(cx, cy, innerRadius, outerRadius, 5, Math.toRadians(-18));
+    // Hanya baris & kolom yang memotong region (biaya sebanding viewport, bukan ukuran papan)
+    private void drawCells(Graphics2D g2d, Rectangle region, SpriteAtlas atlas) {
+        int finish = tables.getFinish();
+        int firstRow = Math.max(0, (region.y - PADDING) / CELL_SIZE);
+        int lastRow = Math.min(boardSize - 1, (region.y + region.height - PADDING) / CELL_SIZE);
+        int firstColumn = Math.max(0, (region.x - PADDING) / CELL_SIZE);
+        int lastColumn = Math.min(boardSize - 1, (region.x + region.width - PADDING) / CELL_SIZE);
 
-        Point2D center = new Point2D.Double(cx, cy);
-        float[] dist = {0.0f, 0.5f, 1.0f};
-        Color[] colors = {new Color(255, 255, 220), new Color(255, 215, 0), new Color(218, 165, 32)};
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int screenCol = firstColumn; screenCol <= lastColumn; screenCol++) {
+                // Baris genap dari atas berjalan kanan -> kiri (zig-zag)
+                int col = row % 2 == 0 ? boardSize - 1 - screenCol : screenCol;
+                int nodeNumber = finish - (row * boardSize + col);
+                int x = PADDING + screenCol * CELL_SIZE;
+                int y = PADDING + row * CELL_SIZE;
 
-        RadialGradientPaint rgp = new RadialGradientPaint(center, (float)outerRadius, dist, colors);
+                // --- 1. GAMBAR CELL ---
+                int kind;
+                if (tables.is(nodeNumber, BoardTables.PRIME)) kind = SpriteAtlas.CELL_PRIME; // Prime = Ladder Potential
+                else if ((row + col) % 2 == 0) kind = SpriteAtlas.CELL_A;
+                else kind = SpriteAtlas.CELL_B;
 
-        g2d.setPaint(rgp);
-        g2d.fill(star);
-        g2d.setColor(new Color(184, 134, 11));
-        g2d.setStroke(new BasicStroke(1f));
-        g2d.draw(star);
-    }
+                if (tables.is(nodeNumber, BoardTables.BONUS)) kind = SpriteAtlas.CELL_BONUS;
+                atlas.drawCell(g2d, kind, x, y);
+
+                // --- 2. KONTEN CELL ---
+                if (nodeNumber == finish) atlas.drawFinishLabel(g2d, x, y);
+                else if (nodeNumber == 1) atlas.drawStartLabel(g2d, x, y);
+                else {
+                    atlas.drawNumber(g2d, nodeNumber, x, y);
 
-    private Shape createStarShape(double centerX, double centerY, double innerRadius, double outerRadius, int numRays, double startAngleRad) {
-        Path2D path = new Path2D.Double();
-        double deltaAngleRad = Math.PI / numRays;
-        for (int i = 0; i < numRays * 2; i++) {
-            double angleRad = startAngleRad + i * deltaAngleRad;
-            double ca = Math.cos(angleRad);
-            double sa = Math.sin(angleRad);
-            double relX = ca * (i % 2 == 0 ? outerRadius : innerRadius);
-            double relY = sa * (i % 2 == 0 ? outerRadius : innerRadius);
-            if (i == 0) path.moveTo(centerX + relX, centerY + relY);
-            else path.lineTo(centerX + relX, centerY + relY);
+                    // GAMBAR BINTANG HANYA JIKA ADA DI SET SCORE NODES
+                    if (tables.is(nodeNumber, BoardTables.STAR)) atlas.drawStar(g2d, x, y);
+
+                    if (tables.is(nodeNumber, BoardTables.BONUS)) atlas.drawDice(g2d, x, y);
+                }
+            }
         }
-        path.closePath();
-        return path;
     }
 
-    private void drawLabelCenter(Graphics2D g2d, int x, int y, String text, Color color) {
-        g2d.setColor(color);
-        g2d.fillRoundRect(x+8, y+28, CELL_SIZE-16, 34, 15, 15);
-        g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Segoe UI", Font.BOLD, 15));
-        FontMetrics fm = g2d.getFontMetrics();
-        int tx = x + (CELL_SIZE - fm.stringWidth(text)) / 2;
-        g2d.drawString(text, tx, y + 50);
+    private void drawLadderHighlight(Graphics2D g2d, Ladder ladder) {
+        Point p1 = getCoordinatesForPosition(ladder.getFrom());
+        Point p2 = getCoordinatesForPosition(ladder.getTo());
+        if (p1 == null || p2 == null) return;
+        g2d.setColor(LADDER_HIGHLIGHT);
+        g2d.setStroke(STROKE_HIGHLIGHT);
+        g2d.drawLine(p1.x + CELL_SIZE/2, p1.y + CELL_SIZE/2, p2.x + CELL_SIZE/2, p2.y + CELL_SIZE/2);
     }
 
     private void drawRealisticLadder(Graphics2D g2d, Ladder ladder) {
@@ -162,70 +414,118 @@ public class GameBoard extends JPanel {
         int x1 = p1.x + CELL_SIZE/2; int y1 = p1.y + CELL_SIZE/2;
         int x2 = p2.x + CELL_SIZE/2; int y2 = p2.y + CELL_SIZE/2;
         double angle = Math.atan2(y2 - y1, x2 - x1);
-        int width = 15;
-        int dx = (int) (width * Math.sin(angle));
-        int dy = (int) (width * Math.cos(angle));
-
-        if (highlightLadder == ladder) {
-            g2d.setColor(new Color(46, 204, 113, 150));
-            g2d.setStroke(new BasicStroke(35, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-            g2d.drawLine(x1, y1, x2, y2);
-        }
-        g2d.setColor(new Color(0,0,0,60));
-        g2d.setStroke(new BasicStroke(9));
-        g2d.drawLine(x1 - dx + 6, y1 + dy + 6, x2 - dx + 6, y2 + dy + 6);
-        g2d.drawLine(x1 + dx + 6, y1 - dy + 6, x2 + dx + 6, y2 - dy + 6);
-        g2d.setColor(new Color(101, 67, 33));
-        g2d.setStroke(new BasicStroke(9, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+        int dx = (int) (LADDER_HALF_WIDTH * Math.sin(angle));
+        int dy = (int) (LADDER_HALF_WIDTH * Math.cos(angle));
+
+        int shadow = LADDER_SHADOW_OFFSET;
+        g2d.setColor(LADDER_SHADOW);
+        g2d.setStroke(STROKE_SHADOW);
+        g2d.drawLine(x1 - dx + shadow, y1 + dy + shadow, x2 - dx + shadow, y2 + dy + shadow);
+        g2d.drawLine(x1 + dx + shadow, y1 - dy + shadow, x2 + dx + shadow, y2 - dy + shadow);
+        g2d.setColor(LADDER_RAIL);
+        g2d.setStroke(STROKE_RAIL);
         g2d.drawLine(x1 - dx, y1 + dy, x2 - dx, y2 + dy);
         g2d.drawLine(x1 + dx, y1 - dy, x2 + dx, y2 - dy);
-        g2d.setColor(new Color(160, 82, 45));
-        g2d.setStroke(new BasicStroke(4));
+        g2d.setColor(LADDER_RAIL_SHINE);
+        g2d.setStroke(STROKE_RAIL_SHINE);
         g2d.drawLine(x1 - dx, y1 + dy, x2 - dx, y2 + dy);
         g2d.drawLine(x1 + dx, y1 - dy, x2 + dx, y2 - dy);
         int steps = 10;
         for (int i = 1; i < steps; i++) {
             double t = (double) i / steps;
             int cx = (int) (x1 + t * (x2 - x1)); int cy = (int) (y1 + t * (y2 - y1));
-            g2d.setColor(new Color(139, 69, 19));
-            g2d.setStroke(new BasicStroke(7));
+            g2d.setColor(LADDER_RUNG);
+            g2d.setStroke(STROKE_RUNG);
             g2d.drawLine(cx - dx, cy + dy, cx + dx, cy - dy);
-            g2d.setColor(new Color(205, 133, 63));
+            g2d.setColor(LADDER_BOLT);
             g2d.fillOval(cx - dx - 3, cy + dy - 3, 6, 6);
             g2d.fillOval(cx + dx - 3, cy - dy - 3, 6, 6);
         }
     }
 
-    private void drawPlayerToken(Graphics2D g2d, Player p, int index) {
-        Point coords = getCoordinatesForPosition(p.getPosition());
-        if (coords == null) return;
+    private void drawPlayerToken(Graphics2D g2d, SpriteAtlas atlas, Player p, int index, double x, double y) {
         int offset = (index * 6) - 10;
-        int px = coords.x + CELL_SIZE/2 - 18 + offset;
-        int py = coords.y + CELL_SIZE/2 - 22 + offset;
-        int size = 36;
-        g2d.setColor(new Color(0,0,0,80));
-        g2d.fillOval(px + 3, py + 3, size, size);
-        GradientPaint gp = new GradientPaint(px, py, p.getColor().brighter(), px + size, py + size, p.getColor().darker());
-        g2d.setPaint(gp);
-        g2d.fillOval(px, py, size, size);
-        g2d.setColor(Color.WHITE);
-        g2d.setStroke(new BasicStroke(2));
-        g2d.drawOval(px, py, size, size);
-        g2d.setFont(new Font("Arial", Font.BOLD, 16));
-        String initial = p.getName().substring(0, 1).toUpperCase();
-        FontMetrics fm = g2d.getFontMetrics();
-        g2d.drawString(initial, px + (size - fm.stringWidth(initial))/2, py + (size + fm.getAscent())/2 - 3);
+        int px = (int) Math.floor(x) + CELL_SIZE/2 - 18 + offset;
+        int py = (int) Math.floor(y) + CELL_SIZE/2 - 22 + offset;
+        atlas.drawToken(g2d, p.getColor(), Character.toUpperCase(p.getName().charAt(0)), px, py);
     }
 
     private Point getCoordinatesForPosition(int position) {
-        if (position < 1 || position > 64) return null;
-        int nodeNumber = 64 - position + 1;
-        int row = (nodeNumber - 1) / BOARD_SIZE;
-        int col = (nodeNumber - 1) % BOARD_SIZE;
+        int finish = tables.getFinish();
+        if (position < 1 || position > finish) return null;
+        int nodeNumber = finish - position + 1;
+        int row = (nodeNumber - 1) / boardSize;
+        int col = (nodeNumber - 1) % boardSize;
         int x, y;
         y = PADDING + row * CELL_SIZE;
-        if (row % 2 == 0) x = PADDING + (BOARD_SIZE - 1 - col) * CELL_SIZE;
+        if (row % 2 == 0) x = PADDING + (boardSize - 1 - col) * CELL_SIZE;
         else x = PADDING + col * CELL_SIZE;
         return new Point(x, y);
     }
+
+    // Index spasial tangga: papan dibagi pita horizontal (BAND_ROWS baris), tiap pita menyimpan
+    // tangga yang kotak pembatasnya memotong pita itu (format CSR, tanpa objek per entry).
+    private class LadderIndex {
+        private static final int BAND_ROWS = 4;
+
+        private final Ladder[] ladders;
+        private final Rectangle[] bounds;
+        private final int[] bandStart;
+        private final int[] entries;
+
+        LadderIndex(List<Ladder> list) {
+            ladders = list.toArray(new Ladder[0]);
+            bounds = new Rectangle[ladders.length];
+            int bands = (boardSize + BAND_ROWS - 1) / BAND_ROWS;
+            bandStart = new int[bands + 1];
+            for (int i = 0; i < ladders.length; i++) {
+                bounds[i] = getLadderBounds(ladders[i]);
+                for (int b = firstBand(bounds[i]); b <= lastBand(bounds[i]); b++) bandStart[b + 1]++;
+            }
+            for (int b = 0; b < bands; b++) bandStart[b + 1] += bandStart[b];
+            entries = new int[bandStart[bands]];
+            int[] fill = Arrays.copyOf(bandStart, bands);
+            for (int i = 0; i < ladders.length; i++) {
+                for (int b = firstBand(bounds[i]); b <= lastBand(bounds[i]); b++) entries[fill[b]++] = i;
+            }
+        }
+
+        private int band(int y) {
+            int b = (y - PADDING) / (BAND_ROWS * CELL_SIZE);
+            return Math.max(0, Math.min(bandStart.length - 2, b));
+        }
+
+        private int firstBand(Rectangle r) { return band(r.y); }
+        private int lastBand(Rectangle r) { return band(r.y + r.height); }
+
+        // Tangga yang memotong region, urut sesuai urutan layout (urutan tumpukan sama seperti dulu)
+        List<Ladder> query(Rectangle region) {
+            if (ladders.length == 0) return List.of();
+            int from = bandStart[band(region.y)];
+            int to = bandStart[band(region.y + region.height) + 1];
+            int[] hits = new int[to - from];
+            int count = 0;
+            // Kotak pembatas dulu (murah), lalu garis tangga-nya sendiri (tangga diagonal panjang)
+            Rectangle reach = new Rectangle(region);
+            reach.grow(LADDER_REACH, LADDER_REACH);
+            for (int e = from; e < to; e++) {
+                int i = entries[e];
+                if (!bounds[i].intersects(region)) continue;
+                Point p1 = getCoordinatesForPosition(ladders[i].getFrom());
+                Point p2 = getCoordinatesForPosition(ladders[i].getTo());
+                if (reach.intersectsLine(p1.x + CELL_SIZE/2, p1.y + CELL_SIZE/2, p2.x + CELL_SIZE/2, p2.y + CELL_SIZE/2)) {
+                    hits[count++] = i;
+                }
+            }
+            Arrays.sort(hits, 0, count);
+            List<Ladder> result = new ArrayList<>(count);
+            int previous = -1;
+            for (int k = 0; k < count; k++) {
+                // Tangga yang melintasi beberapa pita muncul lebih dari sekali
+                if (hits[k] != previous) result.add(ladders[hits[k]]);
+                previous = hits[k];
+            }
+            return result;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,162 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Client untuk GameServer. Satu koneksi bisa memegang banyak room; request bersifat
+// sinkron (server lokal, round-trip di bawah 1 ms).
+public class GameClient implements AutoCloseable {
+    private static final int CONNECT_TIMEOUT_MS = 2000;
+    private static final int READ_TIMEOUT_MS = 5000;
+
+    private final Socket socket;
+    private final BufferedReader in;
+    private final Writer out;
+
+    public GameClient(String host, int port) throws IOException {
+        socket = new Socket();
+        socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MS);
+        socket.setSoTimeout(READ_TIMEOUT_MS);
+        socket.setTcpNoDelay(true);
+        in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    // Return isi balasan setelah "OK" (dipisah spasi). "ERR ..." jadi IOException.
+    public synchronized String[] request(String command) throws IOException {
+        out.write(command);
+        out.write('\n');
+        out.flush();
+        String reply = in.readLine();
+        if (reply == null) throw new IOException("Server closed the connection");
+        if (reply.startsWith("ERR")) throw new IOException("Server: " + reply.substring(Math.min(4, reply.length())));
+        String body = reply.length() > 2 ? reply.substring(3) : "";
+        return body.isEmpty() ? new String[0] : body.split(" ");
+    }
+
+    public RemoteGame createGame(int players) throws IOException {
+        return createGame(players, BoardLayout.DEFAULT_SIZE);
+    }
+
+    public RemoteGame createGame(int players, int boardSize) throws IOException {
+        String[] reply = request("CREATE " + players + " " + boardSize);
+        return new RemoteGame(Long.parseLong(reply[0]), decodeLayout(reply, 1));
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            synchronized (this) {
+                out.write("QUIT\n");
+                out.flush();
+            }
+        } finally {
+            socket.close();
+        }
+    }
+
+    static BoardLayout decodeLayout(String[] fields, int from) {
+        int i = from;
+        int size = Integer.parseInt(fields[i++]);
+        int ladderCount = Integer.parseInt(fields[i++]);
+        List<Ladder> ladders = new ArrayList<>(ladderCount);
+        for (int k = 0; k < ladderCount; k++) {
+            ladders.add(new Ladder(Integer.parseInt(fields[i++]), Integer.parseInt(fields[i++])));
+        }
+        int starCount = Integer.parseInt(fields[i++]);
+        Set<Integer> stars = new LinkedHashSet<>();
+        for (int k = 0; k < starCount; k++) stars.add(Integer.parseInt(fields[i++]));
+        return new BoardLayout(size, ladders, stars);
+    }
+
+    // Room di server, dengan API yang sama seperti GameEngine lokal untuk UI.
+    // Error jaringan dilempar sebagai UncheckedIOException.
+    public class RemoteGame implements GameSession {
+        private final long roomId;
+        private final BoardLayout layout;
+        private final Ladder[] ladderAt;
+
+        private int currentSeat;
+        private boolean finished;
+        private boolean bonusPending;
+        private int lastDice;
+        private boolean lastBackward;
+        private int[] path = new int[0];
+        private int[] pathPoints = new int[0];
+
+        RemoteGame(long roomId, BoardLayout layout) {
+            this.roomId = roomId;
+            this.layout = layout;
+            this.ladderAt = new Ladder[layout.getFinish() + 1];
+            for (Ladder l : layout.getLadders()) ladderAt[l.getFrom()] = l;
+        }
+
+        public long getRoomId() { return roomId; }
+        public BoardLayout getLayout() { return layout; }
+
+        @Override
+        public int roll() {
+            String[] r = call("ROLL " + roomId);
+            lastDice = Integer.parseInt(r[1]);
+            lastBackward = r[2].equals("B");
+            finished = r[3].equals("1");
+            bonusPending = r[4].equals("1");
+            currentSeat = Integer.parseInt(r[5]);
+            int n = Integer.parseInt(r[6]);
+            path = new int[n];
+            pathPoints = new int[n];
+            for (int i = 0; i < n; i++) {
+                String step = r[7 + i];
+                int colon = step.indexOf(':');
+                path[i] = Integer.parseInt(step, 0, colon, 10);
+                pathPoints[i] = Integer.parseInt(step, colon + 1, step.length(), 10);
+            }
+            return n > 0 ? path[n - 1] : -1;
+        }
+
+        @Override
+        public void endTurn(boolean rollAgain) {
+            // Tanpa bonus server sudah memindahkan giliran saat ROLL
+            if (!bonusPending) return;
+            bonusPending = false;
+            currentSeat = Integer.parseInt(call("BONUS " + roomId + (rollAgain ? " YES" : " NO"))[0]);
+        }
+
+        public void close() {
+            call("CLOSE " + roomId);
+        }
+
+        private String[] call(String command) {
+            try {
+                return request(command);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override public int getLastDice() { return lastDice; }
+        @Override public boolean isLastBackward() { return lastBackward; }
+        @Override public int getPathLength() { return path.length; }
+        @Override public int getPathNode(int index) { return path[index]; }
+        @Override public int getPathPoints(int index) { return pathPoints[index]; }
+        @Override public boolean isFinished() { return finished; }
+        @Override public boolean canRollAgain() { return bonusPending; }
+        @Override public int getCurrentSeat() { return currentSeat; }
+
+        @Override
+        public Ladder getLadderAt(int pos) {
+            if (pos < 1 || pos > layout.getFinish()) return null;
+            return ladderAt[pos];
+        }
+    }
+}
@@ -0,0 +1,222 @@
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+// Engine permainan tanpa UI: aturan sama persis dengan Main (ladder hanya dari posisi prima,
+// 20% mundur, bintang memberi skor, bonus roll di kelipatan 5, menang di petak terakhir N*N).
+// Tidak ada Timer, tidak ada alokasi per langkah -> bisa dipakai untuk simulasi massal.
+public class GameEngine implements GameSession {
+    public static final int MAX_PLAYERS = 4;
+    // 6 langkah + maksimal 6 naik tangga
+    public static final int MAX_PATH = 12;
+
+    // Aturan dasar (BoardRules.STANDARD), varian lewat BoardTables(layout, rules)
+    public static final double BACKWARD_CHANCE = 0.20;
+    public static final int BONUS_MODULUS = 5;
+
+    // Keputusan bonus roll (manusia di UI, bot / simulasi di sini)
+    public interface BonusPolicy {
+        boolean rollAgain(GameEngine engine, int seat);
+
+        BonusPolicy ALWAYS = (engine, seat) -> true;
+        BonusPolicy NEVER = (engine, seat) -> false;
+    }
+
+    // Dipanggil setiap roll & keputusan bonus (mis. TurnLog), points hanya valid selama callback
+    public interface TurnListener {
+        void rolled(int dice, boolean backward, int[] points, int count);
+        void bonusChosen(boolean rollAgain);
+    }
+
+    private final RandomGenerator random;
+    private TurnListener listener;
+
+    // --- BOARD ---
+    private BoardTables tables;
+    private int finish;
+    private double backwardChance = BACKWARD_CHANCE;
+    private Ladder[] ladderAt = new Ladder[0];
+
+    // --- STATE PEMAIN ---
+    private final int[] positions = new int[MAX_PLAYERS];
+    private final int[] scores = new int[MAX_PLAYERS];
+    private int playerCount;
+    private int currentSeat;
+    private int winner = -1;
+    private int turnCount;
+    private boolean turnInProgress;
+
+    // --- HASIL ROLL TERAKHIR (dibaca UI untuk animasi) ---
+    private int lastDice;
+    private boolean lastBackward;
+    private int lastStart;
+    private final int[] hitPoints = new int[MAX_PATH];
+    private int hitCount;
+    // Jalur lengkap hanya dibuat kalau diminta (animasi UI)
+    private final int[] path = new int[MAX_PATH];
+    private final int[] pathPoints = new int[MAX_PATH];
+    private int pathLength = -1;
+
+    public GameEngine(RandomGenerator random) {
+        this.random = random;
+    }
+
+    public void setLayout(BoardLayout layout) {
+        setLayout(layout, new BoardTables(layout));
+    }
+
+    // Tabel bisa dipakai bersama oleh banyak engine (immutable)
+    public void setLayout(BoardLayout layout, BoardTables tables) {
+        this.tables = tables;
+        this.finish = tables.getFinish();
+        this.backwardChance = tables.getRules().getBackwardChance();
+        if (ladderAt.length == finish + 1) Arrays.fill(ladderAt, null);
+        else ladderAt = new Ladder[finish + 1];
+        for (Ladder l : layout.getLadders()) ladderAt[l.getFrom()] = l;
+    }
+
+    public void setTurnListener(TurnListener listener) {
+        this.listener = listener;
+    }
+
+    public void newGame(int players) {
+        if (players < 1 || players > MAX_PLAYERS) {
+            throw new IllegalArgumentException("Players must be 1-" + MAX_PLAYERS + ": " + players);
+        }
+        playerCount = players;
+        for (int i = 0; i < MAX_PLAYERS; i++) {
+            positions[i] = 1;
+            scores[i] = 0;
+        }
+        currentSeat = 0;
+        winner = -1;
+        turnCount = 0;
+        turnInProgress = false;
+        hitCount = 0;
+        pathLength = 0;
+    }
+
+    // --- LOGIKA GILIRAN ---
+
+    // Lempar dadu untuk pemain saat ini dan pindahkan bidaknya. Return posisi akhir.
+    public int roll() {
+        int diceVal = random.nextInt(6) + 1;
+        boolean isBackward = random.nextDouble() < backwardChance;
+        return move(diceVal, isBackward);
+    }
+
+    public int move(int diceVal, boolean isBackward) {
+        return move(diceVal, isBackward, null);
+    }
+
+    // Replay: poin bintang diambil dari 'points' (hasil log), bukan diundi
+    public int move(int diceVal, boolean isBackward, int[] points) {
+        if (isFinished()) throw new IllegalStateException("Game already finished");
+        if (!turnInProgress) {
+            turnInProgress = true;
+            turnCount++;
+        }
+        lastDice = diceVal;
+        lastBackward = isBackward;
+
+        int seat = currentSeat;
+        int startPos = positions[seat];
+        lastStart = startPos;
+        int endPos = tables.landing(startPos, diceVal, isBackward);
+
+        // Skor bintang, diundi berurutan sesuai langkah (sama seperti animatePath)
+        hitCount = tables.starHits(startPos, diceVal, isBackward);
+        for (int i = 0; i < hitCount; i++) {
+            int value = points != null ? points[i] : (random.nextInt(5) + 1) * 10;
+            hitPoints[i] = value;
+            scores[seat] += value;
+        }
+        pathLength = -1;
+        if (listener != null) listener.rolled(diceVal, isBackward, hitPoints, hitCount);
+
+        positions[seat] = endPos;
+        if (endPos == finish) winner = seat;
+        return endPos;
+    }
+
+    // Bisa bonus roll? (petak bonus sesuai aturan, bukan finish)
+    public boolean canRollAgain() {
+        if (isFinished()) return false;
+        return tables.is(positions[currentSeat], BoardTables.BONUS);
+    }
+
+    // Akhiri giliran. Jika rollAgain dan memang dapat bonus, pemain yang sama lanjut.
+    public void endTurn(boolean rollAgain) {
+        if (isFinished()) return;
+        boolean bonus = canRollAgain();
+        if (listener != null && bonus) listener.bonusChosen(rollAgain);
+        if (rollAgain && bonus) return;
+        turnInProgress = false;
+        currentSeat = (currentSeat + 1) % playerCount;
+    }
+
+    // Satu giliran penuh (termasuk bonus roll sesuai policy)
+    public void playTurn(BonusPolicy policy) {
+        roll();
+        while (canRollAgain() && policy.rollAgain(this, currentSeat)) {
+            endTurn(true);
+            roll();
+        }
+        endTurn(false);
+    }
+
+    // Mainkan sampai ada pemenang (atau batas giliran habis). Return kursi pemenang / -1.
+    public int playGame(BonusPolicy policy, int maxTurns) {
+        while (!isFinished() && turnCount < maxTurns) playTurn(policy);
+        return winner;
+    }
+
+    // Jalur roll terakhir dibangun ulang dari tabel, poin bintang dipasangkan ke petaknya
+    private void tracePath() {
+        if (pathLength >= 0) return;
+        pathLength = tables.tracePath(lastStart, lastDice, lastBackward, tables.is(lastStart, BoardTables.PRIME), path);
+        int hit = 0;
+        for (int i = 0; i < pathLength; i++) {
+            pathPoints[i] = tables.is(path[i], BoardTables.STAR) ? hitPoints[hit++] : 0;
+        }
+    }
+
+    public Ladder getLadderAt(int pos) {
+        if (pos < 1 || pos > finish) return null;
+        return ladderAt[pos];
+    }
+
+    public static boolean isPrime(int n) {
+        if (n <= 1) return false;
+        if (n <= 3) return true;
+        if (n % 2 == 0 || n % 3 == 0) return false;
+        for (int i = 5; i * i <= n; i += 6) {
+            if (n % i == 0 || n % (i + 2) == 0) return false;
+        }
+        return true;
+    }
+
+    // --- GETTERS ---
+    public int getPlayerCount() { return playerCount; }
+    public int getCurrentSeat() { return currentSeat; }
+    public int getPosition(int seat) { return positions[seat]; }
+    public int getScore(int seat) { return scores[seat]; }
+    public boolean isFinished() { return winner >= 0; }
+    public int getWinner() { return winner; }
+    // Jumlah giliran yang sudah dimulai (bonus roll tidak dihitung sebagai giliran baru)
+    public int getTurnCount() { return turnCount; }
+    public boolean isStar(int pos) { return pos >= 1 && pos <= finish && tables.is(pos, BoardTables.STAR); }
+    public int getFinish() { return finish; }
+    public BoardTables getTables() { return tables; }
+
+    public int getLastDice() { return lastDice; }
+    public boolean isLastBackward() { return lastBackward; }
+    public int getLastPoints() {
+        int total = 0;
+        for (int i = 0; i < hitCount; i++) total += hitPoints[i];
+        return total;
+    }
+
+    public int getPathLength() { tracePath(); return pathLength; }
+    public int getPathNode(int index) { tracePath(); return path[index]; }
+    public int getPathPoints(int index) { tracePath(); return pathPoints[index]; }
+}
@@ -0,0 +1,100 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// Event Java Flight Recorder untuk giliran, rendering, dan audio. Tanpa recording aktif biayanya
+// hampir nol (shouldCommit() = false, objek event di-eliminasi JIT), jadi aman dibiarkan di production.
+// Rekam:  java -XX:StartFlightRecording=filename=ladder.jfr,settings=profile -cp out Main
+// Lihat di JDK Mission Control (Event Browser -> Ladder Game) atau: jfr print --categories "Ladder Game" ladder.jfr
+// Stack trace dimatikan untuk event yang sering (paint, giliran) supaya murah.
+public final class GameEvents {
+    private GameEvents() {}
+
+    @Name("laddergame.Turn")
+    @Label("Turn")
+    @Category({"Ladder Game", "Gameplay"})
+    @Description("Satu roll: klik ROLL DICE (atau bot) sampai finishTurn, termasuk animasi dadu & token")
+    @StackTrace(false)
+    public static class TurnEvent extends Event {
+        @Label("Player") String player;
+        @Label("Seat") int seat;
+        @Label("Dice") int dice;
+        @Label("Backward") boolean backward;
+        @Label("Path Length") int pathLength;
+        @Label("Bot") boolean bot;
+        @Label("Remote") boolean remote;
+    }
+
+    @Name("laddergame.Roll")
+    @Label("Roll & Path")
+    @Category({"Ladder Game", "Gameplay"})
+    @Description("Undian dadu + resolusi jalur (engine lokal atau round-trip ke server)")
+    @StackTrace(false)
+    public static class RollEvent extends Event {
+        @Label("Path Length") int pathLength;
+        @Label("Remote") boolean remote;
+    }
+
+    @Name("laddergame.Paint")
+    @Label("Board Paint")
+    @Category({"Ladder Game", "Rendering"})
+    @Description("GameBoard.paintComponent")
+    @StackTrace(false)
+    public static class PaintEvent extends Event {
+        @Label("Clip Width") int width;
+        @Label("Clip Height") int height;
+        @Label("Area") @Description("Piksel logical yang di-paint (clip)") long area;
+        @Label("Static Layer Rendered") @Description("Cache layer statis dibuat ulang di paint ini") boolean staticRendered;
+    }
+
+    @Name("laddergame.Scoreboard")
+    @Label("Scoreboard Update")
+    @Category({"Ladder Game", "Rendering"})
+    @StackTrace(false)
+    public static class ScoreboardEvent extends Event {
+        @Label("Rows") int rows;
+    }
+
+    @Name("laddergame.AudioOpen")
+    @Label("Audio Open")
+    @Category({"Ladder Game", "Audio"})
+    @Description("Buka line mixer / decode SFX / buka clip musik")
+    public static class AudioOpenEvent extends Event {
+        @Label("Sound") String sound;
+        @Label("Size") @DataAmount long bytes;
+    }
+
+    @Name("laddergame.AudioStart")
+    @Label("Audio Start")
+    @Category({"Ladder Game", "Audio"})
+    @Description("Jeda dari play() sampai suara mulai dimix / clip mulai")
+    @StackTrace(false)
+    public static class AudioStartEvent extends Event {
+        @Label("Sound") String sound;
+        @Label("Latency") @Timespan(Timespan.NANOSECONDS) long latency;
+    }
+
+    @Name("laddergame.AudioFailure")
+    @Label("Audio Failure")
+    @Category({"Ladder Game", "Audio"})
+    @Description("Audio gagal dibuka / di-load / suara di-drop karena antrean penuh")
+    public static class AudioFailureEvent extends Event {
+        @Label("Sound") String sound;
+        @Label("Message") String message;
+    }
+
+    // Gagal audio selalu dicatat (event + counter metrics), dipanggil dari thread mana saja
+    static void audioFailure(String sound, String message) {
+        Metrics.AUDIO_FAILURES.increment();
+        AudioFailureEvent event = new AudioFailureEvent();
+        if (!event.shouldCommit()) return;
+        event.sound = sound;
+        event.message = message;
+        event.commit();
+    }
+}
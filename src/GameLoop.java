@@ -0,0 +1,427 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+// Thread logika game: satu-satunya pemilik GameSession (engine lokal / room server), turn log,
+// keputusan bot, dan autosave selama game berjalan.
+// UI mengirim perintah (game baru, roll, pilihan bonus) lewat antrean lock-free, lalu menerima
+// State immutable. Publish hanya menyimpan state terbaru + satu notifikasi: kalau UI sedang sibuk,
+// beberapa state digabung dan UI cukup membaca yang terakhir (poll) sekali per giliran EDT.
+// Roll diproses langsung tanpa menunggu animasi; UI yang mengatur tempo (dadu, langkah, jeda bot),
+// jadi dialog / animasi di EDT tidak pernah menahan aturan, dan round-trip server tidak memblok EDT.
+public class GameLoop {
+    public enum Phase {
+        WAIT_ROLL,     // currentSeat boleh roll
+        BONUS_CHOICE,  // currentSeat (manusia) memilih bonus roll
+        FINISHED,      // winner menang
+        ERROR          // game berhenti (server putus / gagal resume), lihat message
+    }
+
+    // Snapshot immutable untuk UI
+    public static final class State {
+        private final long gameId;
+        private final BoardLayout layout;
+        private final BoardTables tables;
+        private final Phase phase;
+        private final int currentSeat;
+        private final int[] positions;
+        private final int[] scores;
+        private final int rollCount;
+        private final int rollSeat;
+        private final int dice;
+        private final boolean backward;
+        private final int[] path;
+        private final int[] pathPoints;
+        private final Ladder[] pathLadders;
+        private final boolean bestBonus;
+        private final int winner;
+        private final String message;
+
+        private State(GameLoop loop, Phase phase, String message) {
+            this.gameId = loop.gameId;
+            this.layout = loop.layout;
+            this.tables = loop.tables;
+            this.phase = phase;
+            this.currentSeat = loop.currentSeat;
+            this.positions = loop.positions.clone();
+            this.scores = loop.scores.clone();
+            this.rollCount = loop.rollCount;
+            this.rollSeat = loop.rollSeat;
+            this.dice = loop.dice;
+            this.backward = loop.backward;
+            this.path = loop.path;
+            this.pathPoints = loop.pathPoints;
+            this.pathLadders = loop.pathLadders;
+            this.bestBonus = loop.bestBonus;
+            this.winner = loop.winner;
+            this.message = message;
+        }
+
+        public long getGameId() { return gameId; }
+        public BoardLayout getLayout() { return layout; }
+        public BoardTables getTables() { return tables; }
+        public Phase getPhase() { return phase; }
+        public int getCurrentSeat() { return currentSeat; }
+        public int getPlayerCount() { return positions.length; }
+        public int getPosition(int seat) { return positions[seat]; }
+        public int getScore(int seat) { return scores[seat]; }
+        // Jumlah roll sejak game dimulai; naik 1 per roll (UI menganimasikan roll yang belum tampil)
+        public int getRollCount() { return rollCount; }
+        public int getRollSeat() { return rollSeat; }
+        public int getDice() { return dice; }
+        public boolean isBackward() { return backward; }
+        public int getPathLength() { return path.length; }
+        public int getPathNode(int index) { return path[index]; }
+        public int getPathPoints(int index) { return pathPoints[index]; }
+        // Tangga yang dinaiki di langkah ini (null = langkah biasa)
+        public Ladder getPathLadder(int index) { return pathLadders[index]; }
+        public boolean getBestBonus() { return bestBonus; }
+        public int getWinner() { return winner; }
+        public String getMessage() { return message; }
+    }
+
+    private static final int[] NO_PATH = new int[0];
+    private static final Ladder[] NO_LADDERS = new Ladder[0];
+
+    private final ConcurrentLinkedQueue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    private final AtomicReference<State> latest = new AtomicReference<>();
+    private final AtomicBoolean notified = new AtomicBoolean();
+    private final Runnable onPublish;
+    private final TurnLog.Writer turnLog;
+    private final SnapshotStore snapshotStore;
+    private final Thread thread;
+    // Satu thread untuk tabel bonus policy; hitungan untuk game sebelumnya dibatalkan
+    private final ExecutorService policyExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "bonus-policy");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile boolean running = true;
+
+    // --- STATE (hanya disentuh thread logika) ---
+    private GameSession session;
+    private GameEngine engine;
+    private TurnLog.Recording recording;
+    private String saveSlot;
+    // Save slot game ini sudah ada di SnapshotStore (game bisa di-resume nanti)
+    private boolean slotSaved;
+    private long gameId;
+    private BoardLayout layout;
+    private BoardTables tables;
+    private String[] names = new String[0];
+    private int[] colors = new int[0];
+    private boolean[] bots = new boolean[0];
+    private int[] positions = new int[0];
+    private int[] scores = new int[0];
+    private int currentSeat;
+    private int rollCount;
+    private int rollSeat;
+    private int dice;
+    private boolean backward;
+    private int[] path = NO_PATH;
+    private int[] pathPoints = NO_PATH;
+    private Ladder[] pathLadders = NO_LADDERS;
+    private boolean bestBonus = true;
+    private int winner = -1;
+    private Phase phase = Phase.FINISHED;
+    // Keputusan bonus optimal untuk layout sekarang (dihitung di background, null = belum siap)
+    private BonusPolicyTable bonusPolicy;
+    private Future<?> bonusPolicyTask;
+
+    // onPublish dipanggil (dari thread logika) sekali sampai UI memanggil poll() lagi.
+    // turnLog / snapshotStore boleh null (fitur mati).
+    public GameLoop(Runnable onPublish, TurnLog.Writer turnLog, SnapshotStore snapshotStore) {
+        this.onPublish = onPublish;
+        this.turnLog = turnLog;
+        this.snapshotStore = snapshotStore;
+        thread = new Thread(this::run, "game-logic");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // --- PERINTAH (dari thread mana saja, tidak pernah memblok) ---
+
+    public void newLocalGame(long seed, BoardLayout layout, String[] names, int[] colors, boolean[] bots) {
+        String[] n = names.clone();
+        int[] c = colors.clone();
+        boolean[] b = bots.clone();
+        submit(() -> {
+            GameEngine created = new GameEngine(new SplittableRandom(seed));
+            created.setLayout(layout);
+            created.newGame(n.length);
+            // Tanpa turn log tetap direkam di memori: transcript-nya dipakai autosave
+            TurnLog.Recording rec = turnLog != null ? turnLog.startGame(seed, n.length, layout) : TurnLog.record(seed, n.length, layout);
+            begin(created, created, layout, rec, "game-" + Long.toUnsignedString(seed, 36), n, c, b);
+        });
+    }
+
+    public void resumeGame(GameSnapshot snapshot) {
+        submit(() -> {
+            int n = snapshot.getPlayerCount();
+            String[] names = new String[n];
+            int[] colors = new int[n];
+            boolean[] bots = new boolean[n];
+            for (int i = 0; i < n; i++) {
+                names[i] = snapshot.getName(i);
+                colors[i] = snapshot.getColor(i);
+                bots[i] = snapshot.isBot(i);
+            }
+            TurnLog.Game saved;
+            GameEngine restored;
+            try {
+                saved = snapshot.getGame();
+                if (saved.getPlayers() != n) throw new IOException("Player count mismatch");
+                restored = TurnLog.restore(saved);
+            } catch (IOException e) {
+                if (snapshotStore != null) snapshotStore.delete(snapshot.getId());
+                fail("Cannot resume saved game: " + e.getMessage());
+                return;
+            }
+            byte[] transcript = snapshot.getTranscript();
+            TurnLog.Recording rec = turnLog != null ? turnLog.resumeGame(transcript) : TurnLog.resume(transcript);
+            begin(restored, restored, saved.getLayout(), rec, snapshot.getId(), names, colors, bots);
+            slotSaved = true;
+        });
+    }
+
+    // Room baru di server (round-trip jaringan di thread logika, bukan EDT)
+    public void newRemoteGame(GameClient client, int boardSize, String[] names, int[] colors, boolean[] bots) {
+        String[] n = names.clone();
+        int[] c = colors.clone();
+        boolean[] b = bots.clone();
+        submit(() -> {
+            GameClient.RemoteGame remote;
+            try {
+                remote = client.createGame(n.length, boardSize);
+            } catch (IOException e) {
+                fail("Cannot create game on server: " + e.getMessage());
+                return;
+            }
+            begin(remote, null, remote.getLayout(), null, null, n, c, b);
+        });
+    }
+
+    public void roll() {
+        submit(this::doRoll);
+    }
+
+    public void chooseBonus(boolean rollAgain) {
+        submit(() -> doBonus(rollAgain));
+    }
+
+    // State terbaru yang belum dibaca (null = tidak ada perubahan sejak poll terakhir)
+    public State poll() {
+        notified.set(false);
+        return latest.getAndSet(null);
+    }
+
+    // Game yang belum selesai ditinggalkan (lihat leaveGame), lalu thread berhenti
+    public void shutdown() {
+        submit(() -> {
+            leaveGame();
+            policyExecutor.shutdownNow();
+            running = false;
+        });
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void submit(Runnable command) {
+        commands.offer(command);
+        LockSupport.unpark(thread);
+    }
+
+    private void run() {
+        while (running) {
+            Runnable command;
+            while ((command = commands.poll()) != null) {
+                try {
+                    command.run();
+                } catch (RuntimeException e) {
+                    System.out.println("Game logic error: " + e);
+                }
+            }
+            if (running) LockSupport.park(this);
+        }
+    }
+
+    private void publish(State state) {
+        latest.set(state);
+        if (!notified.getAndSet(true)) onPublish.run();
+    }
+
+    private void fail(String message) {
+        session = null;
+        publish(new State(this, Phase.ERROR, message));
+    }
+
+    // --- LOGIKA (thread logika) ---
+
+    private void begin(GameSession session, GameEngine engine, BoardLayout layout, TurnLog.Recording rec,
+                       String saveSlot, String[] names, int[] colors, boolean[] bots) {
+        leaveGame();
+        this.session = session;
+        this.engine = engine;
+        this.layout = layout;
+        this.tables = engine != null ? engine.getTables() : new BoardTables(layout);
+        this.recording = rec;
+        this.saveSlot = saveSlot;
+        slotSaved = false;
+        this.names = names;
+        this.colors = colors;
+        this.bots = bots;
+        if (engine != null) engine.setTurnListener(rec);
+        gameId++;
+        int n = names.length;
+        positions = new int[n];
+        scores = new int[n];
+        for (int i = 0; i < n; i++) {
+            positions[i] = engine != null ? engine.getPosition(i) : 1;
+            scores[i] = engine != null ? engine.getScore(i) : 0;
+        }
+        currentSeat = session.getCurrentSeat();
+        rollCount = 0;
+        path = NO_PATH;
+        pathPoints = NO_PATH;
+        pathLadders = NO_LADDERS;
+        winner = -1;
+        phase = Phase.WAIT_ROLL;
+        computeBonusPolicy(layout, tables);
+        publish(new State(this, phase, null));
+    }
+
+    // Game yang belum selesai dan masih punya save slot tidak ditulis ke turn log: kalau di-resume,
+    // transcript-nya berlanjut dan game ditulis utuh sekali saat selesai. Tanpa save slot (belum ada
+    // giliran yang di-autosave / store mati) game tidak bisa dilanjutkan, jadi dicatat ditinggalkan.
+    private void leaveGame() {
+        if (recording != null && !slotSaved) recording.finish(-1);
+        recording = null;
+    }
+
+    private void doRoll() {
+        if (session == null || phase != Phase.WAIT_ROLL) return;
+        int seat = session.getCurrentSeat();
+        GameEvents.RollEvent event = new GameEvents.RollEvent();
+        event.begin();
+        long started = Metrics.start();
+        int n;
+        try {
+            session.roll();
+            n = session.getPathLength();
+        } catch (UncheckedIOException e) {
+            fail("Connection to game server lost: " + e.getCause().getMessage());
+            return;
+        }
+        Metrics.ROLL.recordSince(started);
+        event.end();
+        if (event.shouldCommit()) {
+            event.pathLength = n;
+            event.remote = engine == null;
+            event.commit();
+        }
+
+        // Jalur immutable untuk animasi UI
+        int[] nodes = new int[n];
+        int[] points = new int[n];
+        Ladder[] ladders = new Ladder[n];
+        int from = positions[seat];
+        for (int i = 0; i < n; i++) {
+            nodes[i] = session.getPathNode(i);
+            points[i] = session.getPathPoints(i);
+            ladders[i] = Math.abs(nodes[i] - from) > 1 ? session.getLadderAt(from) : null;
+            scores[seat] += points[i];
+            from = nodes[i];
+        }
+        positions[seat] = from;
+        path = nodes;
+        pathPoints = points;
+        pathLadders = ladders;
+        rollSeat = seat;
+        dice = session.getLastDice();
+        backward = session.isLastBackward();
+        rollCount++;
+
+        if (session.isFinished()) {
+            winner = seat;
+            phase = Phase.FINISHED;
+            if (recording != null) recording.finish(seat);
+            recording = null;
+            if (snapshotStore != null && saveSlot != null) snapshotStore.delete(saveSlot);
+            session = null;
+            publish(new State(this, phase, null));
+            return;
+        }
+        if (session.canRollAgain()) {
+            bestBonus = bestBonusChoice(seat);
+            if (!bots[seat]) {
+                phase = Phase.BONUS_CHOICE;
+                currentSeat = seat;
+                publish(new State(this, phase, null));
+                return;
+            }
+            // Bot memutuskan sendiri dengan tabel policy
+            if (!endTurn(bestBonus)) return;
+        } else if (!endTurn(false)) {
+            return;
+        }
+        publish(new State(this, phase, null));
+    }
+
+    private void doBonus(boolean rollAgain) {
+        if (session == null || phase != Phase.BONUS_CHOICE) return;
+        if (endTurn(rollAgain)) publish(new State(this, phase, null));
+    }
+
+    private boolean endTurn(boolean rollAgain) {
+        try {
+            session.endTurn(rollAgain);
+        } catch (UncheckedIOException e) {
+            fail("Connection to game server lost: " + e.getCause().getMessage());
+            return false;
+        }
+        currentSeat = session.getCurrentSeat();
+        phase = Phase.WAIT_ROLL;
+        autosave();
+        return true;
+    }
+
+    // Setelah setiap giliran (game lokal saja): copy state kecil, encode & tulis di thread writer store
+    private void autosave() {
+        if (snapshotStore == null || engine == null || recording == null) return;
+        // Nama terlalu panjang untuk snapshot: game tidak bisa di-resume (tetap dicatat di turn log)
+        if (!GameSnapshot.canStore(names)) return;
+        snapshotStore.save(new GameSnapshot(saveSlot, System.currentTimeMillis(), names, colors, bots,
+                engine.getTurnCount(), recording.getTranscript()));
+        slotSaved = true;
+    }
+
+    // Tabel dihitung di thread lain (papan 20x20 butuh beberapa detik); selama belum siap, selalu roll lagi.
+    // Game baru membatalkan hitungan yang masih jalan, jadi game beruntun tidak menumpuk thread CPU.
+    private void computeBonusPolicy(BoardLayout forLayout, BoardTables tables) {
+        bonusPolicy = null;
+        if (bonusPolicyTask != null) bonusPolicyTask.cancel(true);
+        bonusPolicyTask = null;
+        if (!BonusPolicyTable.supports(forLayout)) return;
+        bonusPolicyTask = policyExecutor.submit(() -> {
+            BonusPolicyTable table = BonusPolicyTable.compute(tables);
+            submit(() -> {
+                if (layout == forLayout) bonusPolicy = table;
+            });
+        });
+    }
+
+    private boolean bestBonusChoice(int seat) {
+        if (bonusPolicy == null) return true;
+        return bonusPolicy.rollAgain(positions, positions.length, seat);
+    }
+}
@@ -0,0 +1,325 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Server multi-room: banyak game independen dalam satu proses.
+//
+// - Setiap room adalah actor ringan: GameEngine + mailbox. Perintah untuk satu room diproses
+//   berurutan (tanpa lock di engine); room yang idle tidak memegang thread sama sekali.
+// - Setiap koneksi dilayani satu virtual thread, mailbox room di-drain di virtual thread juga.
+// - Memori dibatasi: jumlah room maksimum, mailbox per room terbatas, room idle dihapus.
+//
+// Protokol berbasis baris (UTF-8), satu balasan per perintah: "OK ..." atau "ERR <pesan>".
+//   CREATE <players> [size]   -> OK <room> <layout>
+//   LAYOUT <room>             -> OK <layout>
+//   ROLL <room>               -> OK <seat> <dice> <F|B> <finished> <bonus> <nextSeat> <n> <node:points>...
+//   BONUS <room> <YES|NO>     -> OK <currentSeat>
+//   STATE <room>              -> OK <turns> <currentSeat> <winner> <bonus> <position:score>...
+//   CLOSE <room>              -> OK
+//   PING                      -> OK
+//   QUIT                      -> (koneksi ditutup)
+// layout = <ukuran papan> <jumlah tangga> <from> <to>... <jumlah bintang> <node>...
+// Setelah ROLL dengan bonus=1 pemain yang sama harus menjawab BONUS dulu; tanpa bonus
+// giliran langsung pindah ke nextSeat.
+public class GameServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 6464;
+    private static final int MAX_ROOMS = 100_000;
+    private static final int MAX_MAILBOX = 32;
+    private static final int MAX_LINE = 256;
+    private static final int MAX_ROOM_BOARD_SIZE = 16;
+    private static final long ROOM_IDLE_TIMEOUT_MS = 30 * 60_000L;
+    private static final long SWEEP_INTERVAL_MS = 60_000L;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Long, Room> rooms = new ConcurrentHashMap<>();
+    private final AtomicLong nextRoomId = new AtomicLong(1);
+    private final AtomicInteger roomCount = new AtomicInteger();
+    private final SplittableRandom seeds = new SplittableRandom();
+    private volatile boolean running = true;
+
+    public GameServer(int port) throws IOException {
+        // Hanya localhost: server ini untuk client lokal, bukan internet
+        serverSocket = new ServerSocket(port, 512, InetAddress.getLoopbackAddress());
+    }
+
+    public int getPort() { return serverSocket.getLocalPort(); }
+    public int getRoomCount() { return roomCount.get(); }
+
+    // Blok sampai close(): accept loop + sweeper room idle
+    public void serve() throws IOException {
+        executor.execute(this::sweepLoop);
+        while (running) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (SocketException e) {
+                if (!running) break;
+                throw e;
+            }
+            socket.setTcpNoDelay(true);
+            executor.execute(() -> serveConnection(socket));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+
+    // --- KONEKSI ---
+
+    private void serveConnection(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            StringBuilder line = new StringBuilder();
+            while (running) {
+                if (!readLine(in, line)) break;
+                String[] args = line.toString().trim().split("\\s+");
+                if (args[0].equalsIgnoreCase("QUIT")) break;
+                out.write(execute(args));
+                out.write('\n');
+                // Pipelining: flush hanya kalau tidak ada perintah lain yang sudah menunggu
+                if (!in.ready()) out.flush();
+            }
+        } catch (IOException e) {
+            // client putus, room tetap hidup sampai CLOSE / idle timeout
+        }
+    }
+
+    // Baris dibatasi MAX_LINE supaya client nakal tidak bisa menghabiskan memori
+    private static boolean readLine(BufferedReader in, StringBuilder line) throws IOException {
+        line.setLength(0);
+        int c;
+        while ((c = in.read()) >= 0) {
+            if (c == '\n') return true;
+            if (c == '\r') continue;
+            if (line.length() >= MAX_LINE) throw new IOException("Line too long");
+            line.append((char) c);
+        }
+        return line.length() > 0;
+    }
+
+    private String execute(String[] args) {
+        try {
+            String verb = args[0].toUpperCase();
+            switch (verb) {
+                case "PING":
+                    return "OK";
+                case "CREATE":
+                    return createRoom(args.length > 1 ? Integer.parseInt(args[1]) : 2,
+                            args.length > 2 ? Integer.parseInt(args[2]) : BoardLayout.DEFAULT_SIZE);
+                case "LAYOUT":
+                case "ROLL":
+                case "BONUS":
+                case "STATE":
+                case "CLOSE":
+                    if (args.length < 2) return "ERR missing room";
+                    Room room = rooms.get(Long.parseLong(args[1]));
+                    if (room == null) return "ERR unknown room " + args[1];
+                    return room.ask(verb, args);
+                default:
+                    return "ERR unknown command " + args[0];
+            }
+        } catch (NumberFormatException e) {
+            return "ERR bad number " + e.getMessage();
+        }
+    }
+
+    private String createRoom(int players, int size) {
+        if (players < 1 || players > GameEngine.MAX_PLAYERS) return "ERR players must be 1-" + GameEngine.MAX_PLAYERS;
+        // Papan besar butuh memori per room, jadi dibatasi lebih kecil dari UI
+        if (size < BoardLayout.MIN_SIZE || size > MAX_ROOM_BOARD_SIZE) {
+            return "ERR board size must be " + BoardLayout.MIN_SIZE + "-" + MAX_ROOM_BOARD_SIZE;
+        }
+        // Reservasi slot dulu supaya batas MAX_ROOMS tidak bisa terlewati oleh CREATE bersamaan
+        if (roomCount.incrementAndGet() > MAX_ROOMS) {
+            roomCount.decrementAndGet();
+            return "ERR server full";
+        }
+        SplittableRandom random;
+        synchronized (seeds) {
+            random = seeds.split();
+        }
+        Room room = new Room(nextRoomId.getAndIncrement(), BoardLayout.random(random, size), random, players);
+        rooms.put(room.id, room);
+        return "OK " + room.id + " " + encodeLayout(room.layout);
+    }
+
+    private void removeRoom(Room room) {
+        if (rooms.remove(room.id, room)) roomCount.decrementAndGet();
+    }
+
+    private void sweepLoop() {
+        try {
+            while (running) {
+                Thread.sleep(SWEEP_INTERVAL_MS);
+                long deadline = System.currentTimeMillis() - ROOM_IDLE_TIMEOUT_MS;
+                for (Iterator<Room> it = rooms.values().iterator(); it.hasNext(); ) {
+                    Room room = it.next();
+                    if (room.lastActive < deadline) removeRoom(room);
+                }
+            }
+        } catch (InterruptedException e) {
+            // server ditutup
+        }
+    }
+
+    static String encodeLayout(BoardLayout layout) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(layout.getSize()).append(' ').append(layout.getLadders().size());
+        for (Ladder l : layout.getLadders()) sb.append(' ').append(l.getFrom()).append(' ').append(l.getTo());
+        sb.append(' ').append(layout.getStarNodes().size());
+        for (int node : layout.getStarNodes()) sb.append(' ').append(node);
+        return sb.toString();
+    }
+
+    // --- ROOM ACTOR ---
+
+    private static class Command {
+        final String verb;
+        final String[] args;
+        final CompletableFuture<String> reply = new CompletableFuture<>();
+
+        Command(String verb, String[] args) {
+            this.verb = verb;
+            this.args = args;
+        }
+    }
+
+    private final class Room {
+        final long id;
+        final BoardLayout layout;
+        final GameEngine engine;
+        // Hanya disentuh saat drain (satu thread pada satu waktu)
+        boolean awaitingBonus;
+        volatile long lastActive = System.currentTimeMillis();
+
+        final ConcurrentLinkedQueue<Command> mailbox = new ConcurrentLinkedQueue<>();
+        final AtomicInteger pending = new AtomicInteger();
+
+        Room(long id, BoardLayout layout, SplittableRandom random, int players) {
+            this.id = id;
+            this.layout = layout;
+            this.engine = new GameEngine(random);
+            engine.setLayout(layout);
+            engine.newGame(players);
+        }
+
+        // Kirim perintah ke mailbox dan tunggu balasannya (murah: pemanggil virtual thread)
+        String ask(String verb, String[] args) {
+            int n;
+            do {
+                n = pending.get();
+                if (n >= MAX_MAILBOX) return "ERR room busy";
+            } while (!pending.compareAndSet(n, n + 1));
+            lastActive = System.currentTimeMillis();
+            Command command = new Command(verb, args);
+            mailbox.offer(command);
+            // Mailbox sebelumnya kosong -> jadwalkan drain
+            if (n == 0) executor.execute(this::drain);
+            try {
+                return command.reply.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return "ERR interrupted";
+            } catch (ExecutionException e) {
+                return "ERR " + e.getCause().getMessage();
+            }
+        }
+
+        private void drain() {
+            do {
+                Command command;
+                // Slot sudah direservasi, offer() dari pengirim pasti segera menyusul
+                while ((command = mailbox.poll()) == null) Thread.onSpinWait();
+                try {
+                    command.reply.complete(handle(command));
+                } catch (RuntimeException e) {
+                    command.reply.completeExceptionally(e);
+                }
+            } while (pending.decrementAndGet() > 0);
+        }
+
+        private String handle(Command command) {
+            switch (command.verb) {
+                case "LAYOUT":
+                    return "OK " + encodeLayout(layout);
+                case "ROLL":
+                    return roll();
+                case "BONUS":
+                    return bonus(command.args.length > 2 && command.args[2].equalsIgnoreCase("YES"));
+                case "STATE":
+                    return state();
+                case "CLOSE":
+                    removeRoom(this);
+                    return "OK";
+                default:
+                    return "ERR unknown command " + command.verb;
+            }
+        }
+
+        private String roll() {
+            if (engine.isFinished()) return "ERR game finished";
+            if (awaitingBonus) return "ERR bonus decision pending";
+            int seat = engine.getCurrentSeat();
+            engine.roll();
+            awaitingBonus = engine.canRollAgain();
+            if (!awaitingBonus) engine.endTurn(false);
+
+            StringBuilder sb = new StringBuilder(64).append("OK ")
+                    .append(seat).append(' ')
+                    .append(engine.getLastDice()).append(' ')
+                    .append(engine.isLastBackward() ? 'B' : 'F').append(' ')
+                    .append(engine.isFinished() ? 1 : 0).append(' ')
+                    .append(awaitingBonus ? 1 : 0).append(' ')
+                    .append(engine.getCurrentSeat()).append(' ')
+                    .append(engine.getPathLength());
+            for (int i = 0; i < engine.getPathLength(); i++) {
+                sb.append(' ').append(engine.getPathNode(i)).append(':').append(engine.getPathPoints(i));
+            }
+            return sb.toString();
+        }
+
+        private String bonus(boolean rollAgain) {
+            if (!awaitingBonus) return "ERR no bonus roll pending";
+            awaitingBonus = false;
+            engine.endTurn(rollAgain);
+            return "OK " + engine.getCurrentSeat();
+        }
+
+        private String state() {
+            StringBuilder sb = new StringBuilder(64).append("OK ")
+                    .append(engine.getTurnCount()).append(' ')
+                    .append(engine.getCurrentSeat()).append(' ')
+                    .append(engine.getWinner()).append(' ')
+                    .append(awaitingBonus ? 1 : 0);
+            for (int seat = 0; seat < engine.getPlayerCount(); seat++) {
+                sb.append(' ').append(engine.getPosition(seat)).append(':').append(engine.getScore(seat));
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+// Satu game yang sedang berjalan, dilihat dari sisi client (GameLoop).
+// Bisa lokal (GameEngine) atau room di GameServer (GameClient.RemoteGame); dijalankan GameLoop
+// di thread logika, Main hanya menganimasikan State hasilnya.
+public interface GameSession {
+    // Lempar dadu untuk pemain saat ini. Return posisi akhir.
+    int roll();
+
+    int getLastDice();
+    boolean isLastBackward();
+
+    // Jalur roll terakhir per langkah (termasuk naik tangga) + poin bintang di petak itu
+    int getPathLength();
+    int getPathNode(int index);
+    int getPathPoints(int index);
+
+    Ladder getLadderAt(int pos);
+
+    boolean isFinished();
+    boolean canRollAgain();
+    void endTurn(boolean rollAgain);
+    int getCurrentSeat();
+}
@@ -0,0 +1,143 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.zip.CRC32;
+
+// Snapshot immutable game lokal yang sedang berjalan, diambil thread logika (GameLoop) setelah setiap giliran.
+// Isinya identitas pemain + transcript TurnLog (seed, layout, semua roll & pilihan bonus).
+// Posisi & skor tidak disimpan terpisah: restore memainkan ulang transcript dari seed,
+// jadi random engine juga kembali ke state yang sama persis (game lanjut deterministik).
+//
+// Format: [int magic "LGSS"][byte version][long savedAt][byte pemain]
+//         per pemain: [UTF nama][int rgb][boolean bot]
+//         [int giliran][int panjang transcript][transcript][int crc32 semua byte sebelumnya]
+public final class GameSnapshot {
+    private static final int MAGIC = 0x4C475353;
+    private static final int VERSION = 1;
+    private static final int MAX_TRANSCRIPT_BYTES = 1 << 24;
+    // Batas writeUTF (modified UTF-8), sama dengan LogPlayerRecordStore
+    private static final int MAX_NAME_BYTES = 0xFFFF;
+
+    private final String id;
+    private final long savedAt;
+    private final String[] names;
+    private final int[] colors;
+    private final boolean[] bots;
+    private final int turn;
+    private final byte[] transcript;
+
+    public GameSnapshot(String id, long savedAt, String[] names, int[] colors, boolean[] bots, int turn, byte[] transcript) {
+        if (names.length != colors.length || names.length != bots.length) {
+            throw new IllegalArgumentException("Player arrays differ in length");
+        }
+        if (!canStore(names)) throw new IllegalArgumentException("Player name too long for a snapshot");
+        this.id = id;
+        this.savedAt = savedAt;
+        this.names = names.clone();
+        this.colors = colors.clone();
+        this.bots = bots.clone();
+        this.turn = turn;
+        this.transcript = transcript;
+    }
+
+    // Semua nama muat di format snapshot (nama dari dialog input tidak dibatasi panjangnya)
+    public static boolean canStore(String[] names) {
+        for (String name : names) {
+            if (utfLength(name) > MAX_NAME_BYTES) return false;
+        }
+        return true;
+    }
+
+    // Panjang byte writeUTF: 0 dan >= 0x800 tidak 1 byte, surrogate dihitung per char
+    private static long utfLength(String s) {
+        long length = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            length += c >= 1 && c < 0x80 ? 1 : c < 0x800 ? 2 : 3;
+        }
+        return length;
+    }
+
+    // --- GETTERS ---
+    public String getId() { return id; }
+    public long getSavedAt() { return savedAt; }
+    public int getPlayerCount() { return names.length; }
+    public String getName(int seat) { return names[seat]; }
+    public int getColor(int seat) { return colors[seat]; }
+    public boolean isBot(int seat) { return bots[seat]; }
+    public int getTurn() { return turn; }
+    public byte[] getTranscript() { return transcript.clone(); }
+
+    // Header transcript (seed & layout); TurnLog.restore(...) membangun ulang engine-nya
+    public TurnLog.Game getGame() throws IOException {
+        return TurnLog.decode(transcript);
+    }
+
+    // --- ENCODE / DECODE (dipanggil thread writer / saat listing) ---
+
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + transcript.length);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(savedAt);
+            out.writeByte(names.length);
+            for (int i = 0; i < names.length; i++) {
+                out.writeUTF(names[i]);
+                out.writeInt(colors[i]);
+                out.writeBoolean(bots[i]);
+            }
+            out.writeInt(turn);
+            out.writeInt(transcript.length);
+            out.write(transcript);
+        }
+        byte[] body = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        byte[] framed = new byte[body.length + 4];
+        System.arraycopy(body, 0, framed, 0, body.length);
+        int value = (int) crc.getValue();
+        for (int i = 0; i < 4; i++) framed[body.length + i] = (byte) (value >>> (24 - 8 * i));
+        return framed;
+    }
+
+    public static GameSnapshot decode(String id, byte[] data) throws IOException {
+        if (data.length < 4) throw new IOException("Snapshot too short");
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length - 4);
+        int stored = 0;
+        for (int i = 0; i < 4; i++) stored = stored << 8 | (data[data.length - 4 + i] & 0xFF);
+        if ((int) crc.getValue() != stored) throw new IOException("Snapshot checksum mismatch");
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 0, data.length - 4));
+        if (in.readInt() != MAGIC || in.readByte() != VERSION) throw new IOException("Not a game snapshot");
+        long savedAt = in.readLong();
+        int players = in.readByte();
+        if (players < 1 || players > GameEngine.MAX_PLAYERS) throw new IOException("Bad player count: " + players);
+        String[] names = new String[players];
+        int[] colors = new int[players];
+        boolean[] bots = new boolean[players];
+        for (int i = 0; i < players; i++) {
+            names[i] = in.readUTF();
+            colors[i] = in.readInt();
+            bots[i] = in.readBoolean();
+        }
+        int turn = in.readInt();
+        int length = in.readInt();
+        if (length <= 0 || length > MAX_TRANSCRIPT_BYTES) throw new IOException("Bad transcript length: " + length);
+        byte[] transcript = new byte[length];
+        in.readFully(transcript);
+        return new GameSnapshot(id, savedAt, names, colors, bots, turn, transcript);
+    }
+
+    // Untuk daftar resume: "Alice, Bot 1 - turn 12 - 2026-10-17 14:03"
+    @Override
+    public String toString() {
+        return String.join(", ", names) + " - turn " + turn + " - "
+                + new SimpleDateFormat("yyyy-MM-dd HH:mm").format(new Date(savedAt));
+    }
+}
@@ -0,0 +1,47 @@
+// Hasil MarkovAnalyzer untuk satu layout (distribusi giliran sampai finish untuk SATU pemain)
+public class LayoutAnalysis {
+    private final double expectedTurns;
+    private final double variance;
+    private final double[] cdf; // cdf[k] = P(finish dalam <= k giliran)
+
+    LayoutAnalysis(double expectedTurns, double variance, double[] cdf) {
+        this.expectedTurns = expectedTurns;
+        this.variance = variance;
+        this.cdf = cdf;
+    }
+
+    public double getExpectedTurns() { return expectedTurns; }
+    public double getVariance() { return variance; }
+    public double getStandardDeviation() { return Math.sqrt(variance); }
+    public int getHorizon() { return cdf.length - 1; }
+
+    public double getFinishCdf(int turns) {
+        if (turns <= 0) return 0;
+        return turns < cdf.length ? cdf[turns] : cdf[cdf.length - 1];
+    }
+
+    public double getFinishProbability(int turn) {
+        return getFinishCdf(turn) - getFinishCdf(turn - 1);
+    }
+
+    // Peluang menang kursi 'seat' (0-based) dari 'players' pemain.
+    // Pemain tidak saling mempengaruhi, jadi kursi i menang di giliran k jika dia finish di k,
+    // kursi sebelumnya belum finish sampai k, dan kursi sesudahnya belum finish sampai k-1.
+    public double getWinProbability(int players, int seat) {
+        if (players < 1 || seat < 0 || seat >= players) {
+            throw new IllegalArgumentException("Invalid seat " + seat + " for " + players + " players");
+        }
+        double total = 0;
+        for (int k = 1; k < cdf.length; k++) {
+            double survivedK = 1 - cdf[k];
+            double survivedPrev = 1 - cdf[k - 1];
+            total += (cdf[k] - cdf[k - 1]) * Math.pow(survivedK, seat) * Math.pow(survivedPrev, players - 1 - seat);
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Expected turns %.3f (sd %.3f)", expectedTurns, getStandardDeviation());
+    }
+}
@@ -0,0 +1,101 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+// Kumpulan layout hasil LayoutOptimizer yang sudah lolos seleksi, dipilih startGame tanpa hitung ulang.
+// Format teks, satu layout per baris (encoding sama dengan protokol GameServer), metrik setelah '#':
+//   8 5 7 23 ... 10 4 9 ... # E=20.01 sd=9.80 gap=0.041 cost=0.3012
+public class LayoutLibrary {
+    private final List<BoardLayout> layouts;
+
+    private LayoutLibrary(List<BoardLayout> layouts) {
+        this.layouts = Collections.unmodifiableList(layouts);
+    }
+
+    public static LayoutLibrary empty() {
+        return new LayoutLibrary(new ArrayList<>());
+    }
+
+    // File tidak ada = library kosong (startGame kembali ke layout acak)
+    public static LayoutLibrary load(Path file) throws IOException {
+        List<BoardLayout> layouts = new ArrayList<>();
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return empty();
+        }
+        for (int n = 0; n < lines.size(); n++) {
+            String line = lines.get(n);
+            int comment = line.indexOf('#');
+            if (comment >= 0) line = line.substring(0, comment);
+            line = line.trim();
+            if (line.isEmpty()) continue;
+            try {
+                layouts.add(GameClient.decodeLayout(line.split("\\s+"), 0));
+            } catch (RuntimeException e) {
+                throw new IOException(file + ":" + (n + 1) + ": invalid layout", e);
+            }
+        }
+        return new LayoutLibrary(layouts);
+    }
+
+    // Ganti semua layout berukuran 'size' dengan kandidat baru; baris ukuran lain dipertahankan.
+    // Ditulis ke file sementara lalu rename, supaya pembaca tidak pernah melihat file setengah jadi.
+    public static void save(Path file, int size, List<LayoutOptimizer.Candidate> candidates) throws IOException {
+        List<String> kept = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String body = line.trim();
+                if (body.isEmpty() || body.startsWith("#") || body.startsWith(size + " ")) continue;
+                kept.add(line);
+            }
+        } catch (NoSuchFileException e) {
+            // file baru
+        }
+
+        Path parent = file.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            out.write("# Layout library (--optimize), satu layout per baris: size ladders from to ... stars node ...\n");
+            for (String line : kept) {
+                out.write(line);
+                out.write('\n');
+            }
+            for (LayoutOptimizer.Candidate c : candidates) {
+                out.write(GameServer.encodeLayout(c.getLayout()));
+                out.write(" # ");
+                out.write(c.toString());
+                out.write('\n');
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public List<BoardLayout> getLayouts() { return layouts; }
+
+    public int count(int size) {
+        int n = 0;
+        for (BoardLayout l : layouts) if (l.getSize() == size) n++;
+        return n;
+    }
+
+    // Layout acak dengan ukuran 'size', null kalau library tidak punya
+    public BoardLayout pick(RandomGenerator random, int size) {
+        int n = count(size);
+        if (n == 0) return null;
+        int k = random.nextInt(n);
+        for (BoardLayout l : layouts) {
+            if (l.getSize() == size && k-- == 0) return l;
+        }
+        return null;
+    }
+}
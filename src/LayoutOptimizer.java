@@ -0,0 +1,263 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+// Pencari layout papan dengan simulated annealing, satu rantai per layout, paralel di semua core.
+// Setiap kandidat dinilai exact oleh MarkovAnalyzer (tanpa simulasi), targetnya:
+//   - expected giliran per pemain dekat target,
+//   - sebaran (sd / expected) kecil,
+//   - peluang menang antar kursi hampir sama (2..4 pemain),
+//   - bintang tersebar merata sepanjang papan.
+// Seed tiap rantai diturunkan dari seed + index rantai, jadi hasil sama berapapun jumlah thread.
+public class LayoutOptimizer {
+    public static final double DEFAULT_TARGET_TURNS = 20.0;
+    public static final int DEFAULT_ITERATIONS = 4000;
+
+    // Bobot tiap komponen cost
+    private static final double WEIGHT_LENGTH = 1.0;
+    private static final double WEIGHT_SPREAD = 0.5;
+    private static final double WEIGHT_FAIRNESS = 4.0;
+    private static final double WEIGHT_STARS = 0.2;
+
+    // Jadwal suhu (geometris) dan batas lolos seleksi library (layout acak 8x8: gap ~0.05)
+    private static final double START_TEMPERATURE = 0.05;
+    private static final double END_TEMPERATURE = 1e-4;
+    public static final double MAX_LENGTH_ERROR = 0.10;
+    public static final double MAX_SEAT_GAP = 0.045;
+
+    private final int size;
+    private final double targetTurns;
+    private int iterations = DEFAULT_ITERATIONS;
+
+    public LayoutOptimizer(int size, double targetTurns) {
+        if (size * size > MarkovAnalyzer.MAX_CELLS) {
+            throw new IllegalArgumentException("Board too large to optimize: " + size + "x" + size);
+        }
+        this.size = size;
+        this.targetTurns = targetTurns;
+    }
+
+    public void setIterations(int iterations) { this.iterations = iterations; }
+
+    // Hasil satu rantai: layout terbaik + metriknya
+    public static class Candidate {
+        private final BoardLayout layout;
+        private final double cost;
+        private final double expectedTurns;
+        private final double standardDeviation;
+        private final double seatGap;
+
+        Candidate(BoardLayout layout, double cost, double expectedTurns, double standardDeviation, double seatGap) {
+            this.layout = layout;
+            this.cost = cost;
+            this.expectedTurns = expectedTurns;
+            this.standardDeviation = standardDeviation;
+            this.seatGap = seatGap;
+        }
+
+        public BoardLayout getLayout() { return layout; }
+        public double getCost() { return cost; }
+        public double getExpectedTurns() { return expectedTurns; }
+        public double getStandardDeviation() { return standardDeviation; }
+        // Selisih terbesar peluang menang antar kursi (2..4 pemain)
+        public double getSeatGap() { return seatGap; }
+
+        @Override
+        public String toString() {
+            return String.format("E=%.2f sd=%.2f gap=%.3f cost=%.4f", expectedTurns, standardDeviation, seatGap, cost);
+        }
+    }
+
+    public List<Candidate> optimize(int layouts, long seed) {
+        return optimize(layouts, seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    // Return kandidat terbaik tiap rantai, urut dari cost terkecil
+    public List<Candidate> optimize(int layouts, long seed, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<ForkJoinTask<Candidate>> chains = new ArrayList<>(layouts);
+            for (int i = 0; i < layouts; i++) {
+                long chainSeed = MonteCarloSimulator.chunkSeed(seed, i);
+                chains.add(pool.submit(() -> anneal(new SplittableRandom(chainSeed))));
+            }
+            List<Candidate> result = new ArrayList<>(layouts);
+            for (ForkJoinTask<Candidate> chain : chains) result.add(chain.join());
+            result.sort((a, b) -> Double.compare(a.cost, b.cost));
+            return result;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Lolos seleksi library: panjang game dekat target dan cukup adil antar kursi
+    public boolean isAcceptable(Candidate c) {
+        return Math.abs(c.expectedTurns - targetTurns) <= MAX_LENGTH_ERROR * targetTurns && c.seatGap <= MAX_SEAT_GAP;
+    }
+
+    // --- SIMULATED ANNEALING (satu rantai) ---
+
+    private Candidate anneal(SplittableRandom random) {
+        State current = new State(BoardLayout.random(random, size));
+        Candidate currentScore = evaluate(current.toLayout());
+        Candidate best = currentScore;
+        double cooling = Math.pow(END_TEMPERATURE / START_TEMPERATURE, 1.0 / Math.max(1, iterations));
+        double temperature = START_TEMPERATURE;
+
+        State next = new State(current);
+        for (int i = 0; i < iterations; i++, temperature *= cooling) {
+            next.copyFrom(current);
+            if (!next.mutate(random)) continue;
+            Candidate score = evaluate(next.toLayout());
+            double delta = score.cost - currentScore.cost;
+            if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+                State tmp = current; current = next; next = tmp;
+                currentScore = score;
+                if (score.cost < best.cost) best = score;
+            }
+        }
+        return best;
+    }
+
+    Candidate evaluate(BoardLayout layout) {
+        LayoutAnalysis analysis = MarkovAnalyzer.analyze(layout);
+        double expected = analysis.getExpectedTurns();
+        double sd = analysis.getStandardDeviation();
+
+        double gap = 0;
+        for (int players = 2; players <= GameEngine.MAX_PLAYERS; players++) {
+            double min = 1, max = 0;
+            for (int seat = 0; seat < players; seat++) {
+                double p = analysis.getWinProbability(players, seat);
+                min = Math.min(min, p);
+                max = Math.max(max, p);
+            }
+            gap = Math.max(gap, max - min);
+        }
+
+        double lengthError = (expected - targetTurns) / targetTurns;
+        double cost = WEIGHT_LENGTH * lengthError * lengthError
+                + WEIGHT_SPREAD * sd / expected
+                + WEIGHT_FAIRNESS * gap
+                + WEIGHT_STARS * starClustering(layout);
+        return new Candidate(layout, cost, expected, sd, gap);
+    }
+
+    // 0 = jarak antar bintang (termasuk ke start & finish) rata, makin besar makin menggerombol
+    private static double starClustering(BoardLayout layout) {
+        int[] stars = layout.getStarNodes().stream().mapToInt(Integer::intValue).sorted().toArray();
+        double ideal = (double) layout.getFinish() / (stars.length + 1);
+        double sum = 0;
+        int prev = 1;
+        for (int i = 0; i <= stars.length; i++) {
+            int node = i < stars.length ? stars[i] : layout.getFinish();
+            double d = (node - prev - ideal) / ideal;
+            sum += d * d;
+            prev = node;
+        }
+        return sum / (stars.length + 1);
+    }
+
+    // Layout yang bisa diubah in-place; batas tangga sama seperti BoardLayout.random
+    private static class State {
+        final int size;
+        final int finish;
+        final int minJump;
+        final int maxJump;
+        final int maxStart;
+        final int[] from;
+        final int[] to;
+        final int[] stars;
+        final BitSet ladderCells;
+        final BitSet starCells;
+
+        State(BoardLayout layout) {
+            size = layout.getSize();
+            finish = layout.getFinish();
+            minJump = Math.max(2, 10 * size / BoardLayout.DEFAULT_SIZE);
+            maxJump = minJump + Math.max(1, 16 * size / BoardLayout.DEFAULT_SIZE) - 1;
+            maxStart = Math.max(1, finish - 15 * size / BoardLayout.DEFAULT_SIZE) + 1;
+            List<Ladder> ladders = layout.getLadders();
+            from = new int[ladders.size()];
+            to = new int[ladders.size()];
+            ladderCells = new BitSet(finish + 1);
+            for (int i = 0; i < from.length; i++) {
+                from[i] = ladders.get(i).getFrom();
+                to[i] = ladders.get(i).getTo();
+                ladderCells.set(from[i]);
+                ladderCells.set(to[i]);
+            }
+            stars = layout.getStarNodes().stream().mapToInt(Integer::intValue).toArray();
+            starCells = new BitSet(finish + 1);
+            for (int node : stars) starCells.set(node);
+        }
+
+        State(State other) {
+            size = other.size;
+            finish = other.finish;
+            minJump = other.minJump;
+            maxJump = other.maxJump;
+            maxStart = other.maxStart;
+            from = other.from.clone();
+            to = other.to.clone();
+            stars = other.stars.clone();
+            ladderCells = (BitSet) other.ladderCells.clone();
+            starCells = (BitSet) other.starCells.clone();
+        }
+
+        void copyFrom(State other) {
+            System.arraycopy(other.from, 0, from, 0, from.length);
+            System.arraycopy(other.to, 0, to, 0, to.length);
+            System.arraycopy(other.stars, 0, stars, 0, stars.length);
+            ladderCells.clear();
+            ladderCells.or(other.ladderCells);
+            starCells.clear();
+            starCells.or(other.starCells);
+        }
+
+        // Satu langkah kecil: geser kaki / kepala tangga, atau pindahkan satu bintang.
+        // Return false kalau hasilnya melanggar aturan papan (langkah dilewati).
+        boolean mutate(SplittableRandom random) {
+            int kind = random.nextInt(3);
+            if (kind == 2) {
+                int i = random.nextInt(stars.length);
+                int node = random.nextInt(2, finish);
+                if (starCells.get(node)) return false;
+                starCells.clear(stars[i]);
+                starCells.set(node);
+                stars[i] = node;
+                return true;
+            }
+            int i = random.nextInt(from.length);
+            int shift = random.nextInt(1, size + 1) * (random.nextBoolean() ? 1 : -1);
+            int newFrom = kind == 0 ? from[i] + shift : from[i];
+            int newTo = kind == 1 ? to[i] + shift : to[i];
+            int jump = newTo - newFrom;
+            if (newFrom < 2 || newFrom > maxStart || newTo > finish - 1) return false;
+            if (jump < minJump || jump > maxJump) return false;
+            int moved = kind == 0 ? newFrom : newTo;
+            if (ladderCells.get(moved)) return false;
+            ladderCells.clear(kind == 0 ? from[i] : to[i]);
+            ladderCells.set(moved);
+            from[i] = newFrom;
+            to[i] = newTo;
+            return true;
+        }
+
+        BoardLayout toLayout() {
+            List<Ladder> ladders = new ArrayList<>(from.length);
+            for (int i = 0; i < from.length; i++) ladders.add(new Ladder(from[i], to[i]));
+            int[] sorted = stars.clone();
+            Arrays.sort(sorted);
+            Set<Integer> starNodes = new LinkedHashSet<>();
+            for (int node : sorted) starNodes.add(node);
+            return new BoardLayout(size, ladders, starNodes);
+        }
+    }
+}
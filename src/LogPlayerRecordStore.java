@@ -0,0 +1,541 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+// PlayerRecordStore berbasis append-only log + snapshot terkompaksi.
+//
+// records-<gen>.log    : [int panjang payload][int crc32 payload][payload]
+//                        payload = [u16 panjang nama][nama UTF-8][int wins][int score]
+// records-<gen>.snap   : [magic][version][long gen][int count][entry...][int crc32]
+//
+// Snapshot records-N.snap berisi semua log dengan generation < N. Saat startup snapshot
+// terbaru di-mmap dan hanya di-index (hash nama -> offset), record baru dibuat saat diminta,
+// jadi jutaan record tidak perlu di-decode di depan. Tail log setelah snapshot di-replay;
+// record log yang terpotong (crash saat menulis) dibuang.
+// Semua penulisan dilakukan satu thread writer, di-batch dan di-force sekali per batch,
+// jadi save() tidak pernah memblok EDT.
+public class LogPlayerRecordStore implements PlayerRecordStore {
+    private static final int SNAPSHOT_MAGIC = 0x4C475253; // "LGRS"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int SNAPSHOT_HEADER = 20;
+    private static final String FILE_PREFIX = "records-";
+    private static final String LOG_SUFFIX = ".log";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final int MAX_NAME_BYTES = 0xFFFF;
+    private static final int MAX_BATCH = 4096;
+    // Tail log dijaga kecil supaya replay saat startup cepat
+    private static final long COMPACT_LOG_BYTES = 2L << 20;
+
+    // Satu perubahan record, di-capture di thread pemanggil (immutable)
+    private static class Entry {
+        final String name;
+        final int wins;
+        final int score;
+
+        Entry(String name, int wins, int score) {
+            this.name = name;
+            this.wins = wins;
+            this.score = score;
+        }
+    }
+
+    private interface EntrySink {
+        void accept(String name, int wins, int score);
+    }
+
+    private static final Object CLOSE = new Object();
+
+    // Permintaan baca state penuh, dilayani thread writer supaya urut dengan save()
+    private static class Scan {
+        final CompletableFuture<Map<String, Entry>> result = new CompletableFuture<>();
+    }
+
+    private final Path directory;
+    private final LinkedBlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private Thread writer;
+    private volatile boolean closed;
+    private volatile IOException writeError;
+
+    // --- Dimiliki thread writer setelah loadAll() ---
+    private FileChannel log;
+    private long logGeneration;
+    private long snapshotGeneration;
+    private long logBytes;
+    private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+    private final CRC32 crc = new CRC32();
+
+    public LogPlayerRecordStore(Path directory) {
+        this.directory = directory;
+    }
+
+    // --- STARTUP / RECOVERY ---
+
+    @Override
+    public Map<String, PlayerRecord> loadAll(PlayerRecord.ChangeListener listener) throws IOException {
+        if (writer != null) throw new IllegalStateException("Store already loaded");
+        Files.createDirectories(directory);
+
+        List<Long> snapshots = listGenerations(SNAPSHOT_SUFFIX);
+        snapshotGeneration = snapshots.isEmpty() ? 0 : snapshots.get(snapshots.size() - 1);
+        SnapshotIndex index = snapshotGeneration > 0 ? new SnapshotIndex(mapSnapshot(snapshotGeneration)) : null;
+        RecordMap records = new RecordMap(index, listener);
+        deleteOlderThan(snapshotGeneration);
+
+        long lastGeneration = snapshotGeneration;
+        EntrySink sink = records::putFromLog;
+        for (long gen : listGenerations(LOG_SUFFIX)) {
+            Path file = file(gen, LOG_SUFFIX);
+            long valid = replayLog(file, sink);
+            if (valid < Files.size(file)) {
+                try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    ch.truncate(valid);
+                }
+            }
+            lastGeneration = Math.max(lastGeneration, gen);
+        }
+
+        logGeneration = lastGeneration;
+        log = FileChannel.open(file(logGeneration, LOG_SUFFIX), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        logBytes = log.size();
+
+        writer = new Thread(this::writeLoop, "record-store-writer");
+        writer.setDaemon(true);
+        writer.start();
+        return records;
+    }
+
+    private MappedByteBuffer mapSnapshot(long generation) throws IOException {
+        Path file = file(generation, SNAPSHOT_SUFFIX);
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < SNAPSHOT_HEADER + 4 || size > Integer.MAX_VALUE) {
+                throw new IOException("Corrupt record snapshot: " + file);
+            }
+            // Mapping tetap valid setelah channel ditutup
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            crc.reset();
+            crc.update(map.slice(0, (int) size - 4));
+            if ((int) crc.getValue() != map.getInt((int) size - 4)) {
+                throw new IOException("Record snapshot checksum mismatch: " + file);
+            }
+            if (map.getInt(0) != SNAPSHOT_MAGIC || map.getInt(4) != SNAPSHOT_VERSION) {
+                throw new IOException("Unknown record snapshot format: " + file);
+            }
+            return map;
+        }
+    }
+
+    // Return offset byte terakhir yang valid (sisanya record terpotong / rusak)
+    private long replayLog(Path file, EntrySink sink) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size == 0) return 0;
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            byte[] nameBytes = new byte[MAX_NAME_BYTES];
+            int offset = 0;
+            while (map.remaining() >= 8) {
+                int length = map.getInt();
+                int checksum = map.getInt();
+                if (length < 10 || length > map.remaining()) break;
+                crc.reset();
+                crc.update(map.slice(map.position(), length));
+                if ((int) crc.getValue() != checksum) break;
+                int nameLength = Short.toUnsignedInt(map.getShort());
+                map.get(nameBytes, 0, nameLength);
+                sink.accept(new String(nameBytes, 0, nameLength, StandardCharsets.UTF_8), map.getInt(), map.getInt());
+                offset = map.position();
+            }
+            return offset;
+        }
+    }
+
+    private List<Long> listGenerations(String suffix) throws IOException {
+        List<Long> generations = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(p -> {
+                String name = p.getFileName().toString();
+                if (name.startsWith(FILE_PREFIX) && name.endsWith(suffix)) {
+                    try {
+                        generations.add(Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - suffix.length())));
+                    } catch (NumberFormatException ignored) {
+                        // bukan file kita
+                    }
+                }
+            });
+        }
+        generations.sort(null);
+        return generations;
+    }
+
+    private Path file(long generation, String suffix) {
+        return directory.resolve(FILE_PREFIX + generation + suffix);
+    }
+
+    // Hapus log & snapshot yang sudah tercakup snapshot 'generation'.
+    // Snapshot yang masih di-mmap (Windows) mungkin gagal dihapus; dicoba lagi lain kali.
+    private void deleteOlderThan(long generation) throws IOException {
+        for (long gen : listGenerations(LOG_SUFFIX)) {
+            if (gen < generation) Files.deleteIfExists(file(gen, LOG_SUFFIX));
+        }
+        for (long gen : listGenerations(SNAPSHOT_SUFFIX)) {
+            if (gen >= generation) continue;
+            try {
+                Files.deleteIfExists(file(gen, SNAPSHOT_SUFFIX));
+            } catch (IOException ignored) {
+                // masih dipakai, biarkan
+            }
+        }
+    }
+
+    // --- WRITE PATH ---
+
+    @Override
+    public void save(PlayerRecord record) {
+        if (closed || writer == null) return;
+        queue.offer(new Entry(record.getName(), record.getTotalWins(), record.getTotalScore()));
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (closed || writer == null) return;
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        queue.offer(done);
+        try {
+            done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        }
+    }
+
+    @Override
+    public void forEachRecord(RecordVisitor visitor) throws IOException {
+        if (closed || writer == null) throw new IllegalStateException("Store not open");
+        Scan scan = new Scan();
+        queue.offer(scan);
+        Map<String, Entry> state;
+        try {
+            state = scan.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading player records", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        }
+        for (Entry e : state.values()) visitor.visit(e.name, e.wins, e.score);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        if (writer == null) return;
+        queue.offer(CLOSE);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writeError != null) throw writeError;
+    }
+
+    private void writeLoop() {
+        List<Object> batch = new ArrayList<>(MAX_BATCH);
+        boolean running = true;
+        while (running) {
+            batch.clear();
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+
+            IOException error = null;
+            try {
+                for (Object item : batch) {
+                    if (item instanceof Entry e) append(e);
+                    else if (item instanceof Scan scan) scan(scan);
+                    else if (item == CLOSE) running = false;
+                }
+                writeBuffer();
+                // Group commit: satu force per batch, bukan per event
+                log.force(false);
+                if (logBytes > COMPACT_LOG_BYTES) compact();
+            } catch (IOException e) {
+                error = e;
+                writeError = e;
+                System.out.println("Error saving player records: " + e.getMessage());
+            }
+
+            for (Object item : batch) {
+                if (item instanceof CompletableFuture<?> f) {
+                    @SuppressWarnings("unchecked")
+                    CompletableFuture<Void> done = (CompletableFuture<Void>) f;
+                    if (error != null) done.completeExceptionally(error);
+                    else done.complete(null);
+                }
+            }
+        }
+        try {
+            log.close();
+        } catch (IOException e) {
+            writeError = e;
+        }
+    }
+
+    private void append(Entry e) throws IOException {
+        byte[] name = e.name.getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_NAME_BYTES) throw new IOException("Player name too long: " + e.name);
+        int payload = 2 + name.length + 8;
+        if (buffer.remaining() < payload + 8) writeBuffer();
+
+        int start = buffer.position();
+        buffer.putInt(payload);
+        buffer.putInt(0); // checksum diisi setelah payload
+        buffer.putShort((short) name.length);
+        buffer.put(name);
+        buffer.putInt(e.wins);
+        buffer.putInt(e.score);
+        crc.reset();
+        crc.update(buffer.array(), start + 8, payload);
+        buffer.putInt(start + 4, (int) crc.getValue());
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) logBytes += log.write(buffer);
+        buffer.clear();
+    }
+
+    // Log yang sedang ditulis tidak perlu di-force: write() sudah terlihat lewat mmap
+    private void scan(Scan scan) {
+        try {
+            writeBuffer();
+            scan.result.complete(readState(logGeneration));
+        } catch (IOException e) {
+            scan.result.completeExceptionally(e);
+        }
+    }
+
+    // State penuh = snapshot terbaru + semua log sampai 'lastGeneration'
+    private Map<String, Entry> readState(long lastGeneration) throws IOException {
+        Map<String, Entry> state = new HashMap<>();
+        EntrySink sink = (name, wins, score) -> state.put(name, new Entry(name, wins, score));
+        if (snapshotGeneration > 0) new SnapshotIndex(mapSnapshot(snapshotGeneration)).forEach(sink);
+        for (long gen = snapshotGeneration; gen <= lastGeneration; gen++) {
+            Path file = file(gen, LOG_SUFFIX);
+            if (Files.exists(file)) replayLog(file, sink);
+        }
+        return state;
+    }
+
+    // Snapshot baru = snapshot lama + semua log sampai generation sekarang (dibaca ulang dari
+    // disk di thread writer, jadi store tidak perlu menyimpan salinan semua record di memori).
+    // File lama dihapus setelah snapshot baru aman di disk.
+    private void compact() throws IOException {
+        long oldGeneration = logGeneration;
+        log.close();
+        logGeneration = oldGeneration + 1;
+        log = FileChannel.open(file(logGeneration, LOG_SUFFIX), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        logBytes = 0;
+
+        Map<String, Entry> state = readState(oldGeneration);
+
+        Path temp = directory.resolve(FILE_PREFIX + logGeneration + SNAPSHOT_SUFFIX + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temp.toFile())) {
+            CRC32 checksum = new CRC32();
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), checksum));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(logGeneration);
+            out.writeInt(state.size());
+            for (Entry e : state.values()) {
+                byte[] name = e.name.getBytes(StandardCharsets.UTF_8);
+                out.writeShort(name.length);
+                out.write(name);
+                out.writeInt(e.wins);
+                out.writeInt(e.score);
+            }
+            out.flush();
+            // Trailer CRC ditulis langsung supaya tidak ikut dihitung
+            int value = (int) checksum.getValue();
+            file.write(new byte[] {(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value});
+            file.getFD().sync();
+        }
+        Files.move(temp, file(logGeneration, SNAPSHOT_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+        snapshotGeneration = logGeneration;
+        deleteOlderThan(snapshotGeneration);
+    }
+
+    // --- INDEX SNAPSHOT (read-through, tanpa decode di depan) ---
+
+    // Open-addressing hash table: hash byte nama -> offset entry di snapshot yang di-mmap
+    private static class SnapshotIndex {
+        private final MappedByteBuffer map;
+        private final int count;
+        private final int[] slots; // offset + 1, 0 = kosong
+        private final int mask;
+
+        SnapshotIndex(MappedByteBuffer map) {
+            this.map = map;
+            this.count = map.getInt(16);
+            int capacity = Integer.highestOneBit(Math.max(4, count * 2 - 1)) << 1;
+            this.slots = new int[capacity];
+            this.mask = capacity - 1;
+            byte[] name = new byte[MAX_NAME_BYTES];
+            int offset = SNAPSHOT_HEADER;
+            for (int i = 0; i < count; i++) {
+                int nameLength = Short.toUnsignedInt(map.getShort(offset));
+                map.get(offset + 2, name, 0, nameLength);
+                int slot = hash(name, nameLength) & mask;
+                while (slots[slot] != 0) slot = (slot + 1) & mask;
+                slots[slot] = offset + 1;
+                offset += 2 + nameLength + 8;
+            }
+        }
+
+        // FNV-1a
+        private static int hash(byte[] bytes, int length) {
+            int h = 0x811C9DC5;
+            for (int i = 0; i < length; i++) h = (h ^ bytes[i]) * 0x01000193;
+            return h ^ (h >>> 16);
+        }
+
+        // Return offset entry atau -1
+        int find(byte[] name) {
+            int slot = hash(name, name.length) & mask;
+            while (slots[slot] != 0) {
+                int offset = slots[slot] - 1;
+                if (Short.toUnsignedInt(map.getShort(offset)) == name.length && nameEquals(offset + 2, name)) {
+                    return offset;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private boolean nameEquals(int from, byte[] name) {
+            for (int i = 0; i < name.length; i++) if (map.get(from + i) != name[i]) return false;
+            return true;
+        }
+
+        String name(int offset) {
+            int nameLength = Short.toUnsignedInt(map.getShort(offset));
+            byte[] bytes = new byte[nameLength];
+            map.get(offset + 2, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int wins(int offset) { return map.getInt(offset + 2 + Short.toUnsignedInt(map.getShort(offset))); }
+        int score(int offset) { return map.getInt(offset + 6 + Short.toUnsignedInt(map.getShort(offset))); }
+
+        void forEach(EntrySink sink) {
+            int offset = SNAPSHOT_HEADER;
+            for (int i = 0; i < count; i++) {
+                int nameLength = Short.toUnsignedInt(map.getShort(offset));
+                sink.accept(name(offset), wins(offset), score(offset));
+                offset += 2 + nameLength + 8;
+            }
+        }
+    }
+
+    // Map hasil loadAll(): record dari snapshot baru dibuat (dan diberi listener) saat pertama
+    // kali diminta; record dari tail log / record baru disimpan di overlay HashMap.
+    private static class RecordMap extends AbstractMap<String, PlayerRecord> {
+        private final SnapshotIndex index;
+        private final PlayerRecord.ChangeListener listener;
+        private final Map<String, PlayerRecord> overlay = new HashMap<>();
+        private int snapshotOnly; // entry snapshot yang belum ada di overlay
+        private boolean complete;
+
+        RecordMap(SnapshotIndex index, PlayerRecord.ChangeListener listener) {
+            this.index = index;
+            this.listener = listener;
+            this.snapshotOnly = index == null ? 0 : index.count;
+            this.complete = index == null;
+        }
+
+        // Replay log: nilai log menimpa snapshot, entry snapshot tidak perlu dibuat dulu
+        void putFromLog(String name, int wins, int score) {
+            PlayerRecord record = new PlayerRecord(name, score, wins);
+            record.setChangeListener(listener);
+            if (overlay.put(name, record) == null && index != null
+                    && index.find(name.getBytes(StandardCharsets.UTF_8)) >= 0) {
+                snapshotOnly--;
+            }
+        }
+
+        @Override
+        public PlayerRecord get(Object key) {
+            PlayerRecord record = overlay.get(key);
+            if (record != null || complete || !(key instanceof String name)) return record;
+            int offset = index.find(name.getBytes(StandardCharsets.UTF_8));
+            if (offset < 0) return null;
+            record = new PlayerRecord(name, index.score(offset), index.wins(offset));
+            record.setChangeListener(listener);
+            overlay.put(name, record);
+            snapshotOnly--;
+            return record;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public PlayerRecord put(String key, PlayerRecord value) {
+            // get() sekalian memindahkan entry snapshot ke overlay (hitungan size tetap benar)
+            PlayerRecord previous = get(key);
+            overlay.put(key, value);
+            return previous;
+        }
+
+        @Override
+        public int size() {
+            return overlay.size() + snapshotOnly;
+        }
+
+        // Iterasi penuh butuh semua record -> materialisasi sekali
+        @Override
+        public Set<Entry<String, PlayerRecord>> entrySet() {
+            if (!complete) {
+                int offset = SNAPSHOT_HEADER;
+                for (int i = 0; i < index.count; i++) {
+                    int nameLength = Short.toUnsignedInt(index.map.getShort(offset));
+                    String name = index.name(offset);
+                    if (!overlay.containsKey(name)) get(name);
+                    offset += 2 + nameLength + 8;
+                }
+                complete = true;
+                snapshotOnly = 0;
+            }
+            return overlay.entrySet();
+        }
+    }
+}
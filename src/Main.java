@@ -4,9 +4,11 @@ import javax.swing.border.EmptyBorder;
 import javax.swing.border.LineBorder;
 import java.awt.*;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.List;
-import javax.swing.Timer;
 
 public class Main extends JFrame {
 
@@ -21,7 +23,24 @@ public class Main extends JFrame {
     private static final String ROLL_SFX_PATH = "roll-dice.wav";
 
     // --- DATA STORE ---
+    private static final String RECORDS_DIR = "records";
+    private static final String TURN_LOG_PATH = "logs/turns.tlog";
+    // Game lokal yang belum selesai (autosave setiap giliran)
+    private static final String SAVES_DIR = "saves";
+    // Layout pilihan hasil --optimize; kalau tidak ada, papan diacak seperti biasa
+    private static final String LAYOUT_LIBRARY_PATH = "layouts.txt";
+    // Nama berawalan "Bot" dimainkan komputer; jeda sebelum bot roll supaya giliran tetap terlihat
+    private static final String BOT_PREFIX = "bot";
+    private static final int BOT_DELAY_MS = 700;
+    // Durasi animasi (semua dijalankan AnimationClock)
+    private static final int DICE_ROLL_MS = 4000;
+    private static final int DICE_FACE_MS = 80;
+    private static final int STEP_MS = 300;
+    private static final int CLIMB_MS = 600;
     private static Map<String, PlayerRecord> globalRecords = new HashMap<>();
+    private PlayerRecordStore recordStore;
+    private final RankingIndex rankingIndex = new RankingIndex();
+    private static final int HALL_OF_FAME_SIZE = 10;
 
     private GameBoard gameBoard;
     private JButton playButton;
@@ -30,22 +49,47 @@ public class Main extends JFrame {
     // Visual Components
     private DicePanel diceVisualPanel;
     private JLabel diceStatusLabel;
-    private JPanel scoreboardPanel;
+    private Scoreboard scoreboardPanel;
     private JLabel currentPlayerLabel;
+    // Pilihan bonus roll (pengganti dialog modal)
+    private JPanel bonusBox;
+    private JLabel bonusLabel;
 
     // Game Logic Data
     private List<Player> players;
-    private Queue<Player> playerQueue;
-    private PriorityQueue<Player> leaderboardQueue;
+    // Pemilik game (engine lokal, atau room di server kalau pakai --connect) di thread sendiri;
+    // UI hanya mengirim perintah dan menganimasikan State yang dipublish
+    private GameLoop loop;
+    // State terbaru dari loop & yang terakhir selesai ditampilkan
+    private GameLoop.State latestState;
+    private GameLoop.State shownState;
+    private long shownGameId;
+    private int shownRolls;
+    // Roll sudah dikirim, hasilnya belum selesai dianimasikan
+    private boolean rollPending;
+    private final GameClient client;
+    // Ukuran papan N x N (--board N), 8 = papan klasik
+    private final int boardSize;
+    // Log biner semua game lokal (replay: --replay logs/turns.tlog)
+    private TurnLog.Writer turnLog;
+    private SnapshotStore snapshotStore;
     private Player currentPlayer;
     private boolean gameStarted = false;
     private Random random;
     private boolean isAnimating = false;
-    private List<Ladder> ladders;
-    private Set<Integer> scoreNodes;
+    // Giliran yang sedang berjalan (JFR + metrics), ditutup di finishTurn
+    private GameEvents.TurnEvent turnEvent;
+    private long turnStarted;
+    // Satu clock untuk semua animasi (dadu, token, jeda bot)
+    private final AnimationClock clock = new AnimationClock();
+    private BoardLayout layout;
+    private LayoutLibrary layoutLibrary = LayoutLibrary.empty();
 
     // Audio Clips
     private Clip backgroundMusic;
+    private SoundMixer soundMixer;
+    private SoundMixer.Sound stepSound;
+    private SoundMixer.Sound rollSound;
 
     // Warna UI
     private final Color COLOR_BG_DARK = new Color(30, 40, 50);
@@ -56,116 +100,241 @@ public class Main extends JFrame {
     private final Color COLOR_RED = new Color(231, 76, 60);
 
     public Main() {
+        this(null, BoardLayout.DEFAULT_SIZE);
+    }
+
+    public Main(GameClient client, int boardSize) {
+        this.client = client;
+        this.boardSize = boardSize;
         random = new Random();
         players = new ArrayList<>();
-        playerQueue = new LinkedList<>();
-        ladders = new ArrayList<>();
-        scoreNodes = new HashSet<>();
-        leaderboardQueue = new PriorityQueue<>();
+        openTurnLog();
+        openSnapshotStore();
+        loop = new GameLoop(() -> SwingUtilities.invokeLater(this::drainStates), turnLog, snapshotStore);
+        loadLayoutLibrary();
 
+        loadRecords();
         initializeUI();
 
+        // Efek suara di-decode sekali, dimainkan lewat satu mixer
+        soundMixer = new SoundMixer();
+        if (soundMixer.isEnabled()) {
+            stepSound = soundMixer.load(STEP_SFX_PATH);
+            rollSound = soundMixer.load(ROLL_SFX_PATH);
+        }
+
         // Mulai Musik Background
         playBackgroundMusic();
     }
 
+    // --- RECORD STORE ---
+
+    private void loadRecords() {
+        try {
+            recordStore = new LogPlayerRecordStore(Paths.get(RECORDS_DIR));
+            globalRecords = recordStore.loadAll(this::recordChanged);
+        } catch (IOException e) {
+            System.out.println("Error loading player records: " + e.getMessage());
+            recordStore = null;
+            return;
+        }
+
+        // Index Hall of Fame dibangun di background, record di globalRecords tetap lazy
+        Thread indexLoader = new Thread(() -> {
+            try {
+                rankingIndex.load(recordStore);
+            } catch (IOException e) {
+                System.out.println("Error building hall of fame: " + e.getMessage());
+            }
+        }, "ranking-index-loader");
+        indexLoader.setDaemon(true);
+        indexLoader.start();
+    }
+
+    // Setiap addWin / addScore: simpan ke disk + update ranking sepanjang masa
+    private void recordChanged(PlayerRecord record) {
+        if (recordStore != null) recordStore.save(record);
+        rankingIndex.update(record);
+    }
+
+    private PlayerRecord getOrCreateRecord(String name) {
+        PlayerRecord record = globalRecords.get(name);
+        if (record == null) {
+            record = new PlayerRecord(name);
+            record.setChangeListener(this::recordChanged);
+            globalRecords.put(name, record);
+        }
+        return record;
+    }
+
+    private void loadLayoutLibrary() {
+        try {
+            layoutLibrary = LayoutLibrary.load(Paths.get(LAYOUT_LIBRARY_PATH));
+        } catch (IOException e) {
+            System.out.println("Layout library disabled: " + e.getMessage());
+        }
+    }
+
+    private void openTurnLog() {
+        try {
+            turnLog = new TurnLog.Writer(Paths.get(TURN_LOG_PATH));
+        } catch (IOException e) {
+            System.out.println("Turn log disabled: " + e.getMessage());
+        }
+    }
+
+    private void openSnapshotStore() {
+        if (client != null) return; // game remote disimpan server
+        try {
+            snapshotStore = new SnapshotStore(Paths.get(SAVES_DIR));
+        } catch (IOException e) {
+            System.out.println("Saved games disabled: " + e.getMessage());
+        }
+    }
+
+    private void closeSnapshotStore() {
+        if (snapshotStore == null) return;
+        try {
+            snapshotStore.close();
+        } catch (IOException e) {
+            System.out.println("Error saving game: " + e.getMessage());
+        }
+    }
+
+    private void closeTurnLog() {
+        if (turnLog == null) return;
+        try {
+            turnLog.close();
+        } catch (IOException e) {
+            System.out.println("Error writing turn log: " + e.getMessage());
+        }
+    }
+
+    private void closeRecords() {
+        if (recordStore == null) return;
+        try {
+            recordStore.close();
+        } catch (IOException e) {
+            System.out.println("Error saving player records: " + e.getMessage());
+        }
+    }
+
+    // Top-K dari snapshot index: tidak perlu sort semua record
+    private void showHallOfFame() {
+        RankingIndex.Snapshot snapshot = rankingIndex.snapshot();
+        StringBuilder text = new StringBuilder();
+        int rank = 1;
+        for (RankingIndex.Entry e : snapshot.topK(HALL_OF_FAME_SIZE)) {
+            text.append("#").append(rank++).append("  ").append(e.getName())
+                    .append("  -  ").append(e.getTotalWins()).append(" wins, ")
+                    .append(e.getTotalScore()).append(" pts\n");
+        }
+        if (rank == 1) text.append("No records yet.\n");
+        if (!players.isEmpty()) {
+            text.append("\n");
+            for (Player p : players) {
+                int playerRank = snapshot.rankOf(p.getName());
+                text.append(p.getName()).append(": ")
+                        .append(playerRank > 0 ? "#" + playerRank + " of " + snapshot.size() : "unranked").append("\n");
+            }
+        }
+        JOptionPane.showMessageDialog(this, text.toString(), "HALL OF FAME", JOptionPane.PLAIN_MESSAGE);
+    }
+
+    private void disconnect() {
+        if (client == null) return;
+        try {
+            client.close();
+        } catch (IOException e) {
+            // server sudah tidak ada
+        }
+    }
+
     // --- AUDIO METHODS ---
 
     private void playBackgroundMusic() {
         try {
             File soundFile = new File(BGM_PATH);
             if (soundFile.exists()) {
+                GameEvents.AudioOpenEvent open = new GameEvents.AudioOpenEvent();
+                open.begin();
+                long started = Metrics.start();
                 AudioInputStream audioIn = AudioSystem.getAudioInputStream(soundFile);
                 backgroundMusic = AudioSystem.getClip();
                 backgroundMusic.open(audioIn);
+                Metrics.AUDIO_OPEN.recordSince(started);
+                open.end();
+                if (open.shouldCommit()) {
+                    open.sound = soundFile.getName();
+                    open.bytes = soundFile.length();
+                    open.commit();
+                }
                 FloatControl gainControl = (FloatControl) backgroundMusic.getControl(FloatControl.Type.MASTER_GAIN);
                 gainControl.setValue(-10.0f);
+                long queued = System.nanoTime();
                 backgroundMusic.loop(Clip.LOOP_CONTINUOUSLY);
                 backgroundMusic.start();
+                long latency = System.nanoTime() - queued;
+                Metrics.AUDIO_START.record(latency);
+                GameEvents.AudioStartEvent start = new GameEvents.AudioStartEvent();
+                if (start.shouldCommit()) {
+                    start.sound = soundFile.getName();
+                    start.latency = latency;
+                    start.commit();
+                }
+            } else {
+                GameEvents.audioFailure(BGM_PATH, "file not found");
             }
         } catch (Exception e) {
             System.out.println("Error playing BGM: " + e.getMessage());
+            GameEvents.audioFailure(BGM_PATH, e.toString());
         }
     }
 
     // Suara Langkah (Pendek)
     private void playStepSound() {
-        try {
-            File soundFile = new File(STEP_SFX_PATH);
-            if (soundFile.exists()) {
-                AudioInputStream audioIn = AudioSystem.getAudioInputStream(soundFile);
-                Clip clip = AudioSystem.getClip();
-                clip.open(audioIn);
-                clip.start();
-            }
-        } catch (Exception e) {}
+        soundMixer.play(stepSound);
     }
 
     // Suara Roll Dadu (4 Detik)
     private void playRollSound() {
-        try {
-            File soundFile = new File(ROLL_SFX_PATH);
-            if (soundFile.exists()) {
-                AudioInputStream audioIn = AudioSystem.getAudioInputStream(soundFile);
-                Clip clip = AudioSystem.getClip();
-                clip.open(audioIn);
-                clip.start();
-            } else {
-                System.out.println("Roll SFX file not found at: " + ROLL_SFX_PATH);
-            }
-        } catch (Exception e) {
-            System.out.println("Error playing Roll SFX: " + e.getMessage());
-        }
+        soundMixer.play(rollSound);
     }
 
-    private void generateLadders() {
-        ladders.clear();
-        Set<Integer> usedPositions = new HashSet<>();
-        while (ladders.size() < 5) {
-            int startNode = random.nextInt(49) + 2;
-            if (usedPositions.contains(startNode)) continue;
-            int jump = random.nextInt(16) + 10;
-            int endNode = startNode + jump;
-            if (endNode > 63) continue;
-            if (usedPositions.contains(endNode)) continue;
-            ladders.add(new Ladder(startNode, endNode));
-            usedPositions.add(startNode);
-            usedPositions.add(endNode);
-        }
-    }
-
-    private void generateScoreNodes() {
-        scoreNodes.clear();
-        while (scoreNodes.size() < 10) {
-            int node = random.nextInt(62) + 2;
-            scoreNodes.add(node);
-        }
-        gameBoard.setStarNodes(scoreNodes);
-    }
-
-    private boolean isPrime(int n) {
-        if (n <= 1) return false;
-        if (n <= 3) return true;
-        if (n % 2 == 0 || n % 3 == 0) return false;
-        for (int i = 5; i * i <= n; i += 6) {
-            if (n % i == 0 || n % (i + 2) == 0) return false;
-        }
-        return true;
+    private void releaseAudio() {
+        soundMixer.close();
+        if (backgroundMusic != null) backgroundMusic.close();
     }
 
     private void initializeUI() {
         setTitle("🎲 LADDER GAMES: Ultimate Edition");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosing(java.awt.event.WindowEvent e) {
+                if (Metrics.ENABLED) System.out.print("Metrics:\n" + Metrics.report());
+                releaseAudio();
+                loop.shutdown();
+                closeTurnLog();
+                closeSnapshotStore();
+                closeRecords();
+                disconnect();
+            }
+        });
         setLayout(new BorderLayout(0, 0));
         getContentPane().setBackground(COLOR_BG_DARK);
 
         gameBoard = new GameBoard();
+        gameBoard.setAnimationClock(clock);
 
         add(createTopPanel(), BorderLayout.NORTH);
 
         JScrollPane scrollPane = new JScrollPane(gameBoard);
         scrollPane.setBorder(null);
         scrollPane.getViewport().setBackground(COLOR_BG_DARK);
+        // Papan besar: scroll per sepertiga petak
+        scrollPane.getVerticalScrollBar().setUnitIncrement(30);
+        scrollPane.getHorizontalScrollBar().setUnitIncrement(30);
         add(scrollPane, BorderLayout.CENTER);
 
         add(createRightPanel(), BorderLayout.EAST);
@@ -232,6 +401,9 @@ public class Main extends JFrame {
         rollDiceButton.setEnabled(false);
         rollDiceButton.addActionListener(e -> rollDice());
 
+        JButton hallOfFameButton = createStyledButton("HALL OF FAME 🏆", COLOR_GREEN);
+        hallOfFameButton.addActionListener(e -> showHallOfFame());
+
         JPanel diceBox = new JPanel();
         diceBox.setLayout(new BoxLayout(diceBox, BoxLayout.Y_AXIS));
         diceBox.setOpaque(false);
@@ -248,9 +420,28 @@ public class Main extends JFrame {
         diceBox.add(Box.createVerticalStrut(10));
         diceBox.add(diceStatusLabel);
 
-        scoreboardPanel = new JPanel();
-        scoreboardPanel.setLayout(new BoxLayout(scoreboardPanel, BoxLayout.Y_AXIS));
-        scoreboardPanel.setBackground(COLOR_PANEL_BG);
+        bonusBox = new JPanel();
+        bonusBox.setLayout(new BoxLayout(bonusBox, BoxLayout.Y_AXIS));
+        bonusBox.setOpaque(false);
+        bonusBox.setVisible(false);
+
+        bonusLabel = new JLabel(" ");
+        bonusLabel.setFont(new Font("Segoe UI", Font.BOLD, 15));
+        bonusLabel.setForeground(COLOR_ACCENT_ORANGE);
+        bonusLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        JButton rollAgainButton = createStyledButton("ROLL AGAIN 🎲", COLOR_GREEN);
+        rollAgainButton.addActionListener(e -> chooseBonus(true));
+        JButton stopButton = createStyledButton("STOP HERE", COLOR_RED);
+        stopButton.addActionListener(e -> chooseBonus(false));
+
+        bonusBox.add(bonusLabel);
+        bonusBox.add(Box.createVerticalStrut(10));
+        bonusBox.add(rollAgainButton);
+        bonusBox.add(Box.createVerticalStrut(10));
+        bonusBox.add(stopButton);
+
+        scoreboardPanel = new Scoreboard();
 
         JLabel sbTitle = new JLabel("LIVE LEADERBOARD");
         sbTitle.setForeground(new Color(236, 240, 241));
@@ -262,8 +453,12 @@ public class Main extends JFrame {
         panel.add(playButton);
         panel.add(Box.createVerticalStrut(15));
         panel.add(rollDiceButton);
+        panel.add(Box.createVerticalStrut(15));
+        panel.add(hallOfFameButton);
         panel.add(Box.createVerticalStrut(30));
         panel.add(diceBox);
+        panel.add(Box.createVerticalStrut(15));
+        panel.add(bonusBox);
         panel.add(Box.createVerticalStrut(30));
         panel.add(new JSeparator(SwingConstants.HORIZONTAL));
         panel.add(Box.createVerticalStrut(15));
@@ -348,53 +543,20 @@ public class Main extends JFrame {
     }
 
     private void updateScoreboard() {
-        scoreboardPanel.removeAll();
-        leaderboardQueue.clear();
-        leaderboardQueue.addAll(players);
-
-        List<Player> tempSorted = new ArrayList<>();
-        while(!leaderboardQueue.isEmpty()) tempSorted.add(leaderboardQueue.poll());
-        leaderboardQueue.addAll(tempSorted);
-
-        int rank = 1;
-        for (Player p : tempSorted) {
-            JPanel row = new JPanel(new GridLayout(1, 2));
-            row.setOpaque(false);
-            row.setMaximumSize(new Dimension(340, 50));
-            row.setBorder(new EmptyBorder(5,5,5,5));
-
-            JPanel leftInfo = new JPanel(new GridLayout(2, 1));
-            leftInfo.setOpaque(false);
-            JLabel nameLbl = new JLabel("#" + rank + " " + p.getName());
-            nameLbl.setForeground(Color.WHITE);
-            nameLbl.setFont(new Font("Segoe UI", Font.BOLD, 14));
-            JLabel winsLbl = new JLabel("Total Wins: " + p.getTotalWins());
-            winsLbl.setForeground(Color.GRAY);
-            winsLbl.setFont(new Font("Segoe UI", Font.PLAIN, 11));
-            leftInfo.add(nameLbl); leftInfo.add(winsLbl);
-
-            JPanel rightInfo = new JPanel(new GridLayout(2, 1));
-            rightInfo.setOpaque(false);
-            JLabel nodeLbl = new JLabel("Node: " + p.getPosition());
-            nodeLbl.setForeground(COLOR_GREEN);
-            nodeLbl.setFont(new Font("Segoe UI", Font.BOLD, 14));
-            nodeLbl.setHorizontalAlignment(SwingConstants.RIGHT);
-            JLabel scoreLbl = new JLabel("Score: " + p.getCurrentScore());
-            scoreLbl.setForeground(COLOR_ACCENT_ORANGE);
-            scoreLbl.setFont(new Font("Segoe UI", Font.BOLD, 12));
-            scoreLbl.setHorizontalAlignment(SwingConstants.RIGHT);
-            rightInfo.add(nodeLbl); rightInfo.add(scoreLbl);
-
-            row.add(leftInfo); row.add(rightInfo);
-            scoreboardPanel.add(row);
-            scoreboardPanel.add(new JSeparator());
-            rank++;
-        }
-        scoreboardPanel.revalidate();
-        scoreboardPanel.repaint();
+        GameEvents.ScoreboardEvent event = new GameEvents.ScoreboardEvent();
+        event.begin();
+        long started = Metrics.start();
+        scoreboardPanel.update(players);
+        Metrics.SCOREBOARD.recordSince(started);
+        event.end();
+        if (event.shouldCommit()) {
+            event.rows = players.size();
+            event.commit();
+        }
     }
 
     private void startGame() {
+        if (offerResume()) return;
         String input = JOptionPane.showInputDialog(this, "How many players? (2-4):");
         if (input == null) return;
         try {
@@ -406,48 +568,165 @@ public class Main extends JFrame {
 
             players.clear();
             Color[] colors = {new Color(231, 76, 60), new Color(52, 152, 219), new Color(241, 196, 15), new Color(155, 89, 182)};
+            String[] names = new String[n];
+            int[] rgb = new int[n];
+            boolean[] bots = new boolean[n];
 
             for(int i=0; i<n; i++) {
-                String name = JOptionPane.showInputDialog(this, "Enter name for Player " + (i+1) + ":");
+                String name = JOptionPane.showInputDialog(this, "Enter name for Player " + (i+1) + " (start with \"Bot\" for a computer player):");
                 if (name == null || name.trim().isEmpty()) name = "Player " + (i+1);
                 else name = name.trim();
+                boolean bot = name.regionMatches(true, 0, BOT_PREFIX, 0, BOT_PREFIX.length());
 
-                if (!globalRecords.containsKey(name)) globalRecords.put(name, new PlayerRecord());
-                PlayerRecord record = globalRecords.get(name);
-                players.add(new Player(name, colors[i], record));
+                PlayerRecord record = getOrCreateRecord(name);
+                players.add(new Player(name, colors[i], record, bot));
+                names[i] = name;
+                rgb[i] = colors[i].getRGB();
+                bots[i] = bot;
             }
 
-            generateLadders();
-            generateScoreNodes();
+            if (client != null) {
+                // Aturan & undian dijalankan server, UI hanya menganimasikan hasilnya
+                loop.newRemoteGame(client, boardSize, names, rgb, bots);
+            } else {
+                // Seed per game dicatat di turn log supaya game bisa di-replay persis
+                long seed = random.nextLong();
+                BoardLayout picked = layoutLibrary.pick(random, boardSize);
+                if (picked == null) picked = BoardLayout.random(random, boardSize);
+                loop.newLocalGame(seed, picked, names, rgb, bots);
+            }
+            waitForGame();
 
-            playerQueue.clear();
-            playerQueue.addAll(players);
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(this, "Invalid number!");
+        }
+    }
 
-            gameStarted = true;
-            playButton.setEnabled(false);
-            rollDiceButton.setEnabled(true);
+    // Perintah game baru sudah dikirim; board disiapkan saat state-nya datang (beginGame)
+    private void waitForGame() {
+        playButton.setEnabled(false);
+        rollDiceButton.setEnabled(false);
+        bonusBox.setVisible(false);
+        diceStatusLabel.setText("Starting...");
+        diceStatusLabel.setForeground(Color.WHITE);
+    }
 
-            currentPlayer = playerQueue.poll();
-            currentPlayerLabel.setText(currentPlayer.getName());
-            currentPlayerLabel.setForeground(currentPlayer.getColor());
+    // State pertama game baru / hasil resume: tampilkan lalu mulai giliran
+    private void beginGame(GameLoop.State state) {
+        gameStarted = true;
+        rollPending = false;
+        shownGameId = state.getGameId();
+        shownRolls = state.getRollCount();
+        layout = state.getLayout();
+        gameBoard.setBoard(layout, state.getTables());
+        for (int i = 0; i < players.size(); i++) {
+            players.get(i).setPosition(state.getPosition(i));
+            players.get(i).restoreScore(state.getScore(i));
+        }
 
-            diceVisualPanel.setValue(1);
-            diceStatusLabel.setText("");
+        currentPlayer = players.get(state.getCurrentSeat());
+        currentPlayerLabel.setText(currentPlayer.getName());
+        currentPlayerLabel.setForeground(currentPlayer.getColor());
 
-            gameBoard.setPlayers(players);
-            gameBoard.setLadders(ladders);
-            updateScoreboard();
+        diceVisualPanel.setValue(1);
+        // Evaluasi exact layout baru (cukup cepat untuk dijalankan langsung, papan kecil saja)
+        if (MarkovAnalyzer.supports(layout)) {
+            LayoutAnalysis analysis = MarkovAnalyzer.analyze(layout);
+            diceStatusLabel.setText(String.format("~%.1f turns per player", analysis.getExpectedTurns()));
+        } else {
+            diceStatusLabel.setText(layout.getSize() + "x" + layout.getSize() + " board");
+        }
+        diceStatusLabel.setForeground(Color.WHITE);
 
-        } catch (NumberFormatException e) {
-            JOptionPane.showMessageDialog(this, "Invalid number!");
+        gameBoard.setPlayers(players);
+        gameBoard.revealPosition(currentPlayer.getPosition());
+        updateScoreboard();
+        showTurn(state);
+    }
+
+    // Ada game tersimpan: tawarkan resume. Return true jika game di-resume atau dialog dibatalkan.
+    // Ratusan snapshot tetap cepat: file kecil, hanya header + transcript yang dibaca.
+    private boolean offerResume() {
+        if (snapshotStore == null) return false;
+        List<GameSnapshot> saved;
+        try {
+            saved = snapshotStore.list();
+        } catch (IOException e) {
+            System.out.println("Cannot list saved games: " + e.getMessage());
+            return false;
+        }
+        if (saved.isEmpty()) return false;
+        Object[] options = new Object[saved.size() + 1];
+        options[0] = "New game";
+        for (int i = 0; i < saved.size(); i++) options[i + 1] = saved.get(i);
+        Object choice = JOptionPane.showInputDialog(this, "Resume a suspended game?", "Saved Games",
+                JOptionPane.QUESTION_MESSAGE, null, options, options[1]);
+        if (choice == null) return true;
+        if (!(choice instanceof GameSnapshot)) return false;
+        resumeGame((GameSnapshot) choice);
+        return true;
+    }
+
+    // Engine dibangun ulang dari transcript di thread logika; posisi & skor datang lewat state
+    private void resumeGame(GameSnapshot snapshot) {
+        players.clear();
+        for (int i = 0; i < snapshot.getPlayerCount(); i++) {
+            String name = snapshot.getName(i);
+            players.add(new Player(name, new Color(snapshot.getColor(i)), getOrCreateRecord(name), snapshot.isBot(i)));
+        }
+        loop.resumeGame(snapshot);
+        waitForGame();
+    }
+
+    // --- STATE DARI THREAD LOGIKA ---
+
+    // Satu kali per batch publish: state yang datang beruntun digabung, hanya yang terbaru dipakai
+    private void drainStates() {
+        GameLoop.State state = loop.poll();
+        if (state == null) return;
+        latestState = state;
+        showState();
+    }
+
+    // Tampilkan latestState sejauh animasi mengizinkan; dipanggil lagi setiap kali dadu / token selesai.
+    // Satu roll baru dianimasikan; kalau beberapa roll tergabung, token langsung lompat ke state terbaru.
+    private void showState() {
+        GameLoop.State state = latestState;
+        if (state == null || state == shownState || isAnimating) return;
+        if (state.getPhase() == GameLoop.Phase.ERROR) {
+            shownState = state;
+            gameStopped(state.getMessage());
+            return;
+        }
+        if (state.getGameId() != shownGameId) {
+            beginGame(state);
+            return;
+        }
+        if (state.getRollCount() == shownRolls + 1) {
+            showRoll(state);
+            return;
         }
+        if (state.getRollCount() > shownRolls) {
+            shownRolls = state.getRollCount();
+            rollPending = false;
+            recordTurn(state);
+            gameBoard.revealPosition(state.getPosition(state.getRollSeat()));
+        }
+        showTurn(state);
     }
 
     // --- LOGIKA UTAMA: ROLL DICE 4 DETIK & AUDIO ---
     private void rollDice() {
-        if (!gameStarted || isAnimating) return;
+        if (!gameStarted || isAnimating || rollPending || shownState == null
+                || shownState.getPhase() != GameLoop.Phase.WAIT_ROLL) return;
         rollDiceButton.setEnabled(false);
         isAnimating = true;
+        rollPending = true;
+        turnEvent = new GameEvents.TurnEvent();
+        turnEvent.begin();
+        turnStarted = Metrics.start();
+        // Aturan langsung diproses thread logika; hasilnya ditampilkan setelah dadu berhenti
+        loop.roll();
 
         // 1. Mainkan suara dadu (durasi 4 detik)
         playRollSound();
@@ -455,33 +734,24 @@ public class Main extends JFrame {
         diceStatusLabel.setText("Rolling...");
         diceStatusLabel.setForeground(Color.WHITE);
 
-        // 2. Timer Animasi Dadu Berputar
-        // Interval 80ms (sangat cepat mengacak visual dadu)
-        Timer diceAnimTimer = new Timer(80, null);
-        long startTime = System.currentTimeMillis();
-
-        diceAnimTimer.addActionListener(e -> {
-            // Tampilkan angka acak selama animasi
+        // 2. Dadu berputar: muka acak setiap 80 ms, 4 detik sesuai durasi suara, lalu tampilkan hasil
+        long[] shownFace = {-1};
+        clock.start(DICE_ROLL_MS, elapsed -> {
+            long face = elapsed / DICE_FACE_MS;
+            if (face == shownFace[0]) return;
+            shownFace[0] = face;
             diceVisualPanel.setValue(random.nextInt(6) + 1);
-
-            // 3. Stop setelah 4 Detik (4000 ms) sesuai durasi lagu
-            if (System.currentTimeMillis() - startTime > 4000) {
-                diceAnimTimer.stop();
-                finalizeDiceRoll(); // Lanjut ke logika
-            }
+        }, () -> {
+            isAnimating = false;
+            showState();
         });
-        diceAnimTimer.start();
     }
 
-    // Method dipanggil setelah 4 detik (setelah lagu selesai)
-    private void finalizeDiceRoll() {
-        int diceVal = random.nextInt(6) + 1;
-        boolean isBackward = random.nextDouble() < 0.20;
-
-        // Tampilkan hasil akhir
-        diceVisualPanel.setValue(diceVal);
+    // Hasil roll berikutnya sudah ada di state: tampilkan dadu lalu jalankan token
+    private void showRoll(GameLoop.State state) {
+        diceVisualPanel.setValue(state.getDice());
 
-        if (isBackward) {
+        if (state.isBackward()) {
             diceStatusLabel.setText("BACKWARD! 🔻");
             diceStatusLabel.setForeground(COLOR_RED);
         } else {
@@ -489,118 +759,477 @@ public class Main extends JFrame {
             diceStatusLabel.setForeground(COLOR_GREEN);
         }
 
-        boolean hasPrimePower = isPrime(currentPlayer.getPosition());
-        List<Integer> path = calculatePath(currentPlayer.getPosition(), diceVal, hasPrimePower, isBackward);
-        animatePath(path);
+        animatePath(state);
     }
 
-    private List<Integer> calculatePath(int startPos, int steps, boolean canUseLadder, boolean isBackward) {
-        List<Integer> path = new ArrayList<>();
-        int currentPos = startPos;
-        int stepsRemaining = steps;
+    // Token meluncur antar pusat petak (naik tangga = menyusuri tangga, lebih lama).
+    // Semua langkah satu timeline di clock: kalau frame terlewat, langkah yang sudah lewat
+    // waktunya langsung diselesaikan berurutan (posisi & skor tetap benar).
+    private void animatePath(GameLoop.State state) {
+        isAnimating = true;
+        Player mover = players.get(state.getRollSeat());
+        int n = state.getPathLength();
+        int[] nodes = new int[n];
+        int[] points = new int[n];
+        Ladder[] ladders = new Ladder[n];
+        long[] ends = new long[n];
+        long time = 0;
+        for (int i = 0; i < n; i++) {
+            nodes[i] = state.getPathNode(i);
+            points[i] = state.getPathPoints(i);
+            ladders[i] = state.getPathLadder(i);
+            time += ladders[i] != null ? CLIMB_MS : STEP_MS;
+            ends[i] = time;
+        }
+
+        int[] begun = {0};
+        int[] arrived = {0};
+        clock.start(time, elapsed -> {
+            // Langkah yang waktunya sudah habis: token mendarat di petaknya
+            while (arrived[0] < n && elapsed >= ends[arrived[0]]) {
+                int i = arrived[0]++;
+                begun[0] = Math.max(begun[0], arrived[0]);
+                mover.setPosition(nodes[i]);
+                if (points[i] > 0) mover.addScore(points[i]);
+                gameBoard.settleToken(mover);
+                gameBoard.refreshTokens();
+                updateScoreboard();
+            }
+            if (arrived[0] >= n) return;
 
-        while (stepsRemaining > 0) {
-            if (isBackward) {
-                currentPos--;
-                if (currentPos < 1) { currentPos = 1; break; }
-            } else {
-                currentPos++;
-                if (currentPos > 64) { currentPos = 64; break; }
+            int i = arrived[0];
+            int prevNode = mover.getPosition();
+            if (begun[0] == i) {
+                begun[0]++;
+                // --- MAINKAN SUARA LANGKAH DI SETIAP PERPINDAHAN ---
+                playStepSound();
+                gameBoard.setHighlightLadder(ladders[i]);
+                gameBoard.revealPosition(nodes[i]);
             }
+            long start = i == 0 ? 0 : ends[i - 1];
+            double t = (double) (elapsed - start) / (ends[i] - start);
+            gameBoard.moveToken(mover, prevNode, nodes[i], t * t * (3 - 2 * t));
+        }, () -> {
+            gameBoard.setHighlightLadder(null);
+            isAnimating = false;
+            shownRolls++;
+            rollPending = false;
+            recordTurn(state);
+            showState();
+        });
+    }
 
-            path.add(currentPos);
-            stepsRemaining--;
+    // Roll sudah tampil: menang, tawarkan bonus, atau mulai giliran berikutnya
+    private void showTurn(GameLoop.State state) {
+        shownState = state;
+        syncPlayers(state);
 
-            if (!isBackward) {
-                Ladder ladder = getLadderAt(currentPos);
-                if (ladder != null && canUseLadder) {
-                    currentPos = ladder.getTo();
-                    path.add(currentPos);
-                }
+        if (state.getPhase() == GameLoop.Phase.FINISHED) {
+            Player winner = players.get(state.getWinner());
+            winner.addWin();
+            JOptionPane.showMessageDialog(this, "🎉 " + winner.getName() + " WINS! 🎉\nFinal Score: " + winner.getCurrentScore());
+            gameStarted = false;
+            playButton.setEnabled(true);
+            updateScoreboard();
+            return;
+        }
+
+        Player next = players.get(state.getCurrentSeat());
+        if (next != currentPlayer) {
+            currentPlayer = next;
+            currentPlayerLabel.setText(currentPlayer.getName());
+            currentPlayerLabel.setForeground(currentPlayer.getColor());
+            diceStatusLabel.setText("");
+        }
+
+        if (state.getPhase() == GameLoop.Phase.BONUS_CHOICE) {
+            // Pilihan non-modal: board & animasi tetap jalan selama pemain berpikir
+            rollDiceButton.setEnabled(false);
+            bonusLabel.setText("BONUS ROLL on " + state.getPosition(state.getCurrentSeat())
+                    + "! Best: " + (state.getBestBonus() ? "roll again" : "stop here"));
+            bonusBox.setVisible(true);
+            return;
+        }
+        bonusBox.setVisible(false);
+        startTurn();
+    }
+
+    // Posisi & skor mengikuti state (roll yang tidak dianimasikan ikut terhitung)
+    private void syncPlayers(GameLoop.State state) {
+        boolean changed = false;
+        for (int i = 0; i < players.size(); i++) {
+            Player p = players.get(i);
+            int delta = state.getScore(i) - p.getCurrentScore();
+            if (delta > 0) p.addScore(delta);
+            if (p.getPosition() != state.getPosition(i) || delta > 0) {
+                p.setPosition(state.getPosition(i));
+                gameBoard.settleToken(p);
+                changed = true;
             }
         }
-        return path;
+        if (!changed) return;
+        gameBoard.refreshTokens();
+        updateScoreboard();
     }
 
-    private Ladder getLadderAt(int pos) {
-        for (Ladder l : ladders) if (l.getFrom() == pos) return l;
-        return null;
+    private void chooseBonus(boolean rollAgain) {
+        if (shownState == null || shownState.getPhase() != GameLoop.Phase.BONUS_CHOICE) return;
+        bonusBox.setVisible(false);
+        loop.chooseBonus(rollAgain);
     }
 
-    private void animatePath(List<Integer> path) {
-        final int[] index = {0};
-        Timer timer = new Timer(300, null);
+    // Klik roll (atau bot) -> token selesai bergerak; sebelum dialog menang / bonus supaya waktu tunggu user tidak ikut
+    private void recordTurn(GameLoop.State state) {
+        GameEvents.TurnEvent event = turnEvent;
+        if (event == null) return;
+        turnEvent = null;
+        Metrics.TURN.recordSince(turnStarted);
+        event.end();
+        if (!event.shouldCommit()) return;
+        Player mover = players.get(state.getRollSeat());
+        event.player = mover.getName();
+        event.seat = state.getRollSeat();
+        event.dice = state.getDice();
+        event.backward = state.isBackward();
+        event.pathLength = state.getPathLength();
+        event.bot = mover.isBot();
+        event.remote = client != null;
+        event.commit();
+    }
 
-        timer.addActionListener(e -> {
-            if (index[0] < path.size()) {
-                int nextNode = path.get(index[0]);
-                int prevNode = currentPlayer.getPosition();
+    // Giliran (atau bonus roll) currentPlayer dimulai: manusia tekan tombol, bot roll sendiri
+    private void startTurn() {
+        if (!currentPlayer.isBot()) {
+            rollDiceButton.setEnabled(true);
+            return;
+        }
+        rollDiceButton.setEnabled(false);
+        Player bot = currentPlayer;
+        clock.schedule(BOT_DELAY_MS, () -> {
+            if (gameStarted && currentPlayer == bot) rollDice();
+        });
+    }
 
-                // --- MAINKAN SUARA LANGKAH DI SETIAP PERPINDAHAN ---
-                playStepSound();
+    // Game dihentikan thread logika (server hilang / resume gagal): pemain bisa mulai lagi
+    private void gameStopped(String message) {
+        JOptionPane.showMessageDialog(this, message);
+        gameStarted = false;
+        rollPending = false;
+        playButton.setEnabled(true);
+        rollDiceButton.setEnabled(false);
+        bonusBox.setVisible(false);
+        diceStatusLabel.setText(" ");
+    }
 
-                if (Math.abs(nextNode - prevNode) > 1) {
-                    Ladder l = getLadderAt(prevNode);
-                    if (l != null) gameBoard.setHighlightLadder(l);
-                } else {
-                    gameBoard.setHighlightLadder(null);
+    public static void main(String[] args) {
+        // Opsi umum: --board N (papan N x N untuk game lokal / room baru di server)
+        // --rules bonus=N,backward=P,ladders=prime|all|none|odd|even: varian aturan, hanya untuk
+        // simulasi headless (--simulate, --batch); game UI, server, dan turn log tetap aturan standar
+        int boardSize = BoardLayout.DEFAULT_SIZE;
+        BoardRules rules = BoardRules.STANDARD;
+        while (args.length > 1 && (args[0].equals("--board") || args[0].equals("--rules"))) {
+            if (args[0].equals("--board")) {
+                boardSize = Integer.parseInt(args[1]);
+                if (boardSize < BoardLayout.MIN_SIZE || boardSize > BoardLayout.MAX_SIZE) {
+                    System.out.println("Board size must be " + BoardLayout.MIN_SIZE + "-" + BoardLayout.MAX_SIZE);
+                    return;
                 }
+            } else {
+                try {
+                    rules = BoardRules.parse(args[1]);
+                } catch (IllegalArgumentException e) {
+                    System.out.println("Invalid rules: " + e.getMessage());
+                    return;
+                }
+            }
+            args = Arrays.copyOfRange(args, 2, args.length);
+        }
+        int size = boardSize;
 
-                currentPlayer.setPosition(nextNode);
+        // Liga headless: --tournament <roster-file|count> [roundrobin|bracket] [gamesPerMatch] [rounds] [seed]
+        if (args.length > 1 && args[0].equals("--tournament")) {
+            runTournament(args, boardSize);
+            return;
+        }
+        // Mode simulasi headless: --simulate <games> [seed] [players] [always|never|optimal]
+        if (args.length > 0 && args[0].equals("--simulate")) {
+            runSimulation(args, boardSize, rules);
+            return;
+        }
+        // Simulasi massal SoA: --batch <games> [seed] [players] [always|never]
+        if (args.length > 0 && args[0].equals("--batch")) {
+            runBatch(args, boardSize, rules);
+            return;
+        }
+        // Cari layout adil & panjang game sesuai target: --optimize [layouts] [iterations] [targetTurns]
+        if (args.length > 0 && args[0].equals("--optimize")) {
+            runOptimizer(args, boardSize);
+            return;
+        }
+        // Replay / audit turn log: --replay <file> [game [events]]
+        if (args.length > 1 && args[0].equals("--replay")) {
+            runReplay(args);
+            return;
+        }
+        // Export game dari turn log ke PNG: --export <file> <game> <dir> [fps] [scale] [threads]
+        if (args.length > 3 && args[0].equals("--export")) {
+            runExport(args);
+            return;
+        }
+        // Server multi-room headless: --server [port]
+        if (args.length > 0 && args[0].equals("--server")) {
+            runServer(args);
+            return;
+        }
+        // UI sebagai client server: --connect [host:]port
+        if (args.length > 1 && args[0].equals("--connect")) {
+            String target = args[1];
+            int colon = target.lastIndexOf(':');
+            String host = colon >= 0 ? target.substring(0, colon) : "localhost";
+            int port = Integer.parseInt(target.substring(colon + 1));
+            try {
+                GameClient client = new GameClient(host, port);
+                SwingUtilities.invokeLater(() -> new Main(client, size).setVisible(true));
+            } catch (IOException e) {
+                System.out.println("Cannot connect to " + target + ": " + e.getMessage());
+            }
+            return;
+        }
+        SwingUtilities.invokeLater(() -> new Main(null, size).setVisible(true));
+    }
 
-                if (scoreNodes.contains(nextNode) && nextNode != prevNode) {
-                    int points = (random.nextInt(5) + 1) * 10;
-                    currentPlayer.addScore(points);
+    private static void runReplay(String[] args) {
+        Path file = Paths.get(args[1]);
+        try (TurnLog.Reader reader = new TurnLog.Reader(file)) {
+            if (args.length > 2) {
+                // State satu game setelah N event (default: sampai akhir)
+                long index = Long.parseLong(args[2]);
+                int events = args.length > 3 ? Integer.parseInt(args[3]) : Integer.MAX_VALUE;
+                TurnLog.Game g = null;
+                for (long i = 0; i <= index; i++) {
+                    g = reader.next();
+                    if (g == null) {
+                        System.out.println("Log has only " + i + " games");
+                        return;
+                    }
                 }
+                GameEngine state = TurnLog.replay(g, events);
+                System.out.println("Seed: " + g.getSeed() + " | " + g.getLayout());
+                System.out.println("Turns: " + state.getTurnCount() + " | current seat: " + state.getCurrentSeat() + " | winner: " + state.getWinner());
+                for (int seat = 0; seat < g.getPlayers(); seat++) {
+                    System.out.println("  seat " + seat + ": node " + state.getPosition(seat) + ", score " + state.getScore(seat));
+                }
+                System.out.println(TurnLog.verify(g) ? "Verified against seed" : "MISMATCH against seed");
+                return;
+            }
 
-                gameBoard.repaint();
-                updateScoreboard();
-                index[0]++;
-            } else {
-                timer.stop();
-                gameBoard.setHighlightLadder(null);
-                finishTurn();
+            // Semua game: audit ulang dari seed
+            long start = System.nanoTime();
+            long games = 0;
+            long mismatches = 0;
+            TurnLog.Game g;
+            while ((g = reader.next()) != null) {
+                games++;
+                if (!TurnLog.verify(g)) mismatches++;
             }
-        });
-        timer.start();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Replayed %d games, %d mismatches, %.2f s (%.0f games/s)%n", games, mismatches, seconds, games / seconds);
+        } catch (IOException e) {
+            System.out.println("Cannot read turn log: " + e.getMessage());
+        }
     }
 
-    private void finishTurn() {
-        int pos = currentPlayer.getPosition();
+    private static void runExport(String[] args) {
+        if (System.getProperty("java.awt.headless") == null) System.setProperty("java.awt.headless", "true");
+        long index = Long.parseLong(args[2]);
+        Path directory = Paths.get(args[3]);
+        try (TurnLog.Reader reader = new TurnLog.Reader(Paths.get(args[1]))) {
+            TurnLog.Game g = null;
+            for (long i = 0; i <= index; i++) {
+                g = reader.next();
+                if (g == null) {
+                    System.out.println("Log has only " + i + " games");
+                    return;
+                }
+            }
+            ReplayExporter exporter = new ReplayExporter(g);
+            if (args.length > 4) exporter.setFps(Integer.parseInt(args[4]));
+            if (args.length > 5) exporter.setScale(Double.parseDouble(args[5]));
+            if (args.length > 6) exporter.setParallelism(Integer.parseInt(args[6]));
+
+            long start = System.nanoTime();
+            int frames = exporter.export(directory);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Exported %d frames (%.1f s of game) to %s in %.2f s (%.0f frames/s)%n", frames,
+                    exporter.getDurationMs() / 1000.0, directory, seconds, frames / seconds);
+        } catch (IOException e) {
+            System.out.println("Export failed: " + e.getMessage());
+        }
+    }
 
-        if (pos == 64) {
-            currentPlayer.addWin();
-            JOptionPane.showMessageDialog(this, "🎉 " + currentPlayer.getName() + " WINS! 🎉\nFinal Score: " + currentPlayer.getCurrentScore());
-            gameStarted = false;
-            playButton.setEnabled(true);
-            isAnimating = false;
-            updateScoreboard();
+    private static void runServer(String[] args) {
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : GameServer.DEFAULT_PORT;
+        try (GameServer server = new GameServer(port)) {
+            System.out.println("Game server listening on localhost:" + server.getPort());
+            server.serve();
+        } catch (IOException e) {
+            System.out.println("Game server error: " + e.getMessage());
+        }
+    }
+
+    private static void runOptimizer(String[] args, int boardSize) {
+        int layouts = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : LayoutOptimizer.DEFAULT_ITERATIONS;
+        double target = args.length > 3 ? Double.parseDouble(args[3]) : LayoutOptimizer.DEFAULT_TARGET_TURNS;
+        if (boardSize * boardSize > MarkovAnalyzer.MAX_CELLS) {
+            System.out.println("Board too large to optimize (max " + MarkovAnalyzer.MAX_CELLS + " cells)");
             return;
         }
 
-        if (pos % 5 == 0 && pos != 64) {
-            int choice = JOptionPane.showConfirmDialog(this,
-                    "🎲 BONUS ROLL! You landed on " + pos + ".\nRoll again?",
-                    "Bonus", JOptionPane.YES_NO_OPTION);
+        LayoutOptimizer optimizer = new LayoutOptimizer(boardSize, target);
+        optimizer.setIterations(iterations);
+        long start = System.nanoTime();
+        List<LayoutOptimizer.Candidate> accepted = new ArrayList<>();
+        for (LayoutOptimizer.Candidate c : optimizer.optimize(layouts, System.nanoTime())) {
+            boolean ok = optimizer.isAcceptable(c);
+            System.out.println((ok ? "  ok   " : "  skip ") + c);
+            if (ok) accepted.add(c);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d/%d layouts accepted in %.1f s%n", accepted.size(), layouts, seconds);
+        if (accepted.isEmpty()) return;
+        try {
+            LayoutLibrary.save(Paths.get(LAYOUT_LIBRARY_PATH), boardSize, accepted);
+            System.out.println("Saved to " + LAYOUT_LIBRARY_PATH);
+        } catch (IOException e) {
+            System.out.println("Cannot save layout library: " + e.getMessage());
+        }
+    }
 
-            if (choice == JOptionPane.YES_OPTION) {
-                isAnimating = false;
-                rollDiceButton.setEnabled(true);
-                return;
+    private static void runTournament(String[] args, int boardSize) {
+        TournamentRunner.Format format = args.length > 2 && args[2].equals("bracket")
+                ? TournamentRunner.Format.BRACKET : TournamentRunner.Format.ROUND_ROBIN;
+        int gamesPerMatch = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+        int rounds = args.length > 4 ? Integer.parseInt(args[4]) : Integer.MAX_VALUE;
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : System.nanoTime();
+
+        // Roster: file berisi satu nama per baris, atau angka N = "Player 1".."Player N"
+        List<String> roster = new ArrayList<>();
+        try {
+            if (args[1].chars().allMatch(Character::isDigit)) {
+                int count = Integer.parseInt(args[1]);
+                for (int i = 1; i <= count; i++) roster.add("Player " + i);
+            } else {
+                for (String line : java.nio.file.Files.readAllLines(Paths.get(args[1]))) {
+                    String name = line.trim();
+                    if (!name.isEmpty() && !roster.contains(name)) roster.add(name);
+                }
             }
+        } catch (IOException e) {
+            System.out.println("Cannot read roster: " + e.getMessage());
+            return;
+        }
+        if (roster.size() < 2) {
+            System.out.println("Roster needs at least 2 players");
+            return;
         }
 
-        playerQueue.add(currentPlayer);
-        currentPlayer = playerQueue.poll();
-        currentPlayerLabel.setText(currentPlayer.getName());
-        currentPlayerLabel.setForeground(currentPlayer.getColor());
-        diceStatusLabel.setText("");
+        try (LogPlayerRecordStore store = new LogPlayerRecordStore(Paths.get(RECORDS_DIR))) {
+            Map<String, PlayerRecord> records = store.loadAll(store::save);
+            TournamentRunner runner = new TournamentRunner(records, store::save, boardSize);
+            try {
+                runner.useLibrary(LayoutLibrary.load(Paths.get(LAYOUT_LIBRARY_PATH)));
+            } catch (IOException e) {
+                System.out.println("Layout library disabled: " + e.getMessage());
+            }
 
-        isAnimating = false;
-        rollDiceButton.setEnabled(true);
+            long start = System.nanoTime();
+            String champion = null;
+            if (format == TournamentRunner.Format.BRACKET) champion = runner.runBracket(roster, gamesPerMatch, seed);
+            else runner.runRoundRobin(roster, gamesPerMatch, rounds, seed);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.println("Seed: " + seed);
+            System.out.printf("%-4s %-20s %7s %6s %9s %8s %7s%n", "#", "Player", "Played", "Wins", "Score", "Rating", "Change");
+            List<TournamentRunner.Standing> standings = runner.getStandings();
+            for (int i = 0; i < Math.min(standings.size(), 20); i++) {
+                TournamentRunner.Standing st = standings.get(i);
+                System.out.printf("%-4d %-20s %7d %6d %9d %8.1f %+7.1f%n", i + 1, st.getName(), st.getPlayed(),
+                        st.getWins(), st.getScore(), st.getRating(), st.getRatingChange());
+            }
+            if (standings.size() > 20) System.out.println("... " + (standings.size() - 20) + " more");
+            if (champion != null) System.out.println("Champion: " + champion);
+            System.out.printf("%d matches in %.2f s (%.0f matches/s)%n", runner.getMatchesPlayed(), seconds,
+                    runner.getMatchesPlayed() / seconds);
+            store.flush();
+        } catch (IOException e) {
+            System.out.println("Tournament error: " + e.getMessage());
+        }
     }
 
-    public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> new Main().setVisible(true));
+    private static void runSimulation(String[] args, int boardSize, BoardRules rules) {
+        long games = args.length > 1 ? Long.parseLong(args[1]) : 1_000_000L;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        int n = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+
+        String policyName = args.length > 4 ? args[4] : "always";
+
+        BoardLayout layout = BoardLayout.random(new SplittableRandom(seed), boardSize);
+        BoardTables tables = new BoardTables(layout, rules);
+        System.out.println("Seed: " + seed);
+        System.out.println(layout);
+        if (!rules.isStandard()) System.out.println("Rules: " + rules);
+
+        // Semua kursi dimainkan bot dengan policy yang sama
+        GameEngine.BonusPolicy policy;
+        switch (policyName) {
+            case "always": policy = GameEngine.BonusPolicy.ALWAYS; break;
+            case "never": policy = GameEngine.BonusPolicy.NEVER; break;
+            case "optimal":
+                if (!BonusPolicyTable.supports(layout)) {
+                    System.out.println("Board too large for the optimal policy (max " + MarkovAnalyzer.MAX_CELLS + " cells)");
+                    return;
+                }
+                long tableStart = System.nanoTime();
+                policy = BonusPolicyTable.compute(tables);
+                System.out.printf("Bonus policy table: %.1f ms%n", (System.nanoTime() - tableStart) / 1e6);
+                break;
+            default:
+                System.out.println("Unknown policy: " + policyName + " (always, never, optimal)");
+                return;
+        }
+
+        long start = System.nanoTime();
+        SimulationStats stats = new MonteCarloSimulator(layout, tables, n, policy).run(games, seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.print(stats);
+        System.out.printf("Time: %.2f s (%.0f games/s)%n", seconds, games / seconds);
+    }
+
+    private static void runBatch(String[] args, int boardSize, BoardRules rules) {
+        long games = args.length > 1 ? Long.parseLong(args[1]) : 10_000_000L;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        int n = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+        String policyName = args.length > 4 ? args[4] : "always";
+
+        boolean rollAgain;
+        switch (policyName) {
+            case "always": rollAgain = true; break;
+            case "never": rollAgain = false; break;
+            default:
+                System.out.println("Unknown policy: " + policyName + " (always, never)");
+                return;
+        }
+        BoardLayout layout = BoardLayout.random(new SplittableRandom(seed), boardSize);
+        System.out.println("Seed: " + seed);
+        System.out.println(layout);
+        if (!rules.isStandard()) System.out.println("Rules: " + rules);
+
+        BatchSimulator simulator = new BatchSimulator(new BoardTables(layout, rules), n, pos -> rollAgain);
+        long start = System.nanoTime();
+        SimulationStats stats = simulator.run(games, seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.print(stats);
+        System.out.printf("Time: %.2f s (%.0f games/s)%n", seconds, games / seconds);
     }
-}
\ No newline at end of file
+}
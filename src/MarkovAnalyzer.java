@@ -0,0 +1,230 @@
+import java.util.Arrays;
+
+// Analisis exact sebuah layout sebagai absorbing Markov chain (state = posisi 1..N*N).
+// Satu "giliran" = satu roll + semua bonus roll yang diambil, jadi hasilnya bisa
+// langsung dibandingkan dengan jumlah giliran di GameEngine / MonteCarloSimulator.
+public class MarkovAnalyzer {
+    // Matrix dense O(n^2) memori, O(n^3) LU: cukup sampai papan 20x20
+    public static final int MAX_CELLS = 400;
+    private static final int MAX_TURNS = 4096;
+    private static final double TAIL_EPSILON = 1e-12;
+
+    private MarkovAnalyzer() {}
+
+    public static LayoutAnalysis analyze(BoardLayout layout) {
+        return analyze(layout, true);
+    }
+
+    // takeBonus = pemain selalu ambil bonus roll di kelipatan 5 (default UI / simulasi)
+    public static LayoutAnalysis analyze(BoardLayout layout, boolean takeBonus) {
+        return analyze(new BoardTables(layout), takeBonus);
+    }
+
+    public static boolean supports(BoardLayout layout) {
+        return layout.getFinish() <= MAX_CELLS;
+    }
+
+    public static LayoutAnalysis analyze(BoardTables tables, boolean takeBonus) {
+        int states = tables.getFinish();  // index 0..N*N-1 = posisi 1..N*N
+        int transients = states - 1;      // petak finish absorbing
+        double[][] turn = turnMatrix(tables, takeBonus);
+
+        // --- 3. EXPECTED & VARIANCE dari fundamental matrix N = (I - Q)^-1 ---
+        // t = N 1, E[T^2] = 2 N t - t
+        double[][] lu = identityMinus(turn, transients);
+        int[] perm = decompose(lu);
+        double[] ones = new double[transients];
+        Arrays.fill(ones, 1.0);
+        double[] t = substitute(lu, perm, ones);
+        double[] nt = substitute(lu, perm, t);
+        double expected = t[0];
+        double variance = 2 * nt[0] - t[0] - t[0] * t[0];
+
+        // --- 4. CDF per giliran (iterasi distribusi, baris Q dibuat sparse dulu) ---
+        int[][] cols = new int[transients][];
+        double[][] vals = new double[transients][];
+        double[] finish = new double[transients];
+        for (int s = 0; s < transients; s++) {
+            int nnz = 0;
+            for (int c = 0; c < transients; c++) if (turn[s][c] != 0) nnz++;
+            cols[s] = new int[nnz];
+            vals[s] = new double[nnz];
+            int idx = 0;
+            for (int c = 0; c < transients; c++) {
+                if (turn[s][c] != 0) {
+                    cols[s][idx] = c;
+                    vals[s][idx++] = turn[s][c];
+                }
+            }
+            finish[s] = turn[s][states - 1];
+        }
+
+        double[] cdf = new double[MAX_TURNS + 1];
+        double[] dist = new double[transients];
+        double[] next = new double[transients];
+        dist[0] = 1.0;
+        int horizon = 0;
+        double done = 0;
+        while (horizon < MAX_TURNS && 1 - done > TAIL_EPSILON) {
+            Arrays.fill(next, 0);
+            double finishedNow = 0;
+            for (int s = 0; s < transients; s++) {
+                double mass = dist[s];
+                if (mass == 0) continue;
+                finishedNow += mass * finish[s];
+                int[] c = cols[s];
+                double[] v = vals[s];
+                for (int j = 0; j < c.length; j++) next[c[j]] += mass * v[j];
+            }
+            done += finishedNow;
+            cdf[++horizon] = done;
+            double[] tmp = dist; dist = next; next = tmp;
+        }
+        return new LayoutAnalysis(expected, variance, Arrays.copyOf(cdf, horizon + 1));
+    }
+
+    // Matrix transisi SATU GILIRAN (roll + bonus roll), turn[from-1][to-1]; petak finish absorbing.
+    // Dipakai juga BonusPolicyTable untuk distribusi finish lawan.
+    static double[][] turnMatrix(BoardTables tables, boolean takeBonus) {
+        int states = tables.getFinish();
+        if (states > MAX_CELLS) {
+            throw new IllegalArgumentException("Board too large for exact analysis: " + states + " cells");
+        }
+
+        // --- 1. MATRIX SATU ROLL, dipisah: berhenti (A) vs lanjut bonus roll (B) ---
+        double[][] stop = new double[states][states];
+        double[][] cont = new double[states][states];
+        double p = 1.0 / 6.0;
+        double backward = tables.getRules().getBackwardChance();
+        for (int from = 1; from < states; from++) {
+            for (int dice = 1; dice <= 6; dice++) {
+                addRoll(tables, stop, cont, from, dice, false, p * (1 - backward), takeBonus);
+                addRoll(tables, stop, cont, from, dice, true, p * backward, takeBonus);
+            }
+        }
+        stop[states - 1][states - 1] = 1.0;
+
+        // --- 2. MATRIX SATU GILIRAN: M = A + B*M ---
+        // B hanya punya kolom di petak bonus (K), jadi cukup selesaikan (I - B_KK) M_K = A_K
+        // lalu M = A + B[:,K] M_K. Untuk 8x8 sistemnya cuma 12x12, bukan 64x64.
+        int[] bonusCells = new int[states];
+        int k = 0;
+        for (int pos = 1; pos < states; pos++) {
+            if (tables.is(pos, BoardTables.BONUS)) bonusCells[k++] = pos - 1;
+        }
+        bonusCells = Arrays.copyOf(bonusCells, k);
+
+        double[][] turn = stop;
+        if (takeBonus) {
+            double[][] iMinusBkk = new double[k][k];
+            double[][] stopK = new double[k][];
+            for (int i = 0; i < k; i++) {
+                for (int j = 0; j < k; j++) {
+                    iMinusBkk[i][j] = (i == j ? 1.0 : 0.0) - cont[bonusCells[i]][bonusCells[j]];
+                }
+                stopK[i] = stop[bonusCells[i]].clone();
+            }
+            double[][] turnK = solve(iMinusBkk, stopK);
+            for (int s = 0; s < states; s++) {
+                double[] row = turn[s];
+                for (int j = 0; j < k; j++) {
+                    double b = cont[s][bonusCells[j]];
+                    if (b == 0) continue;
+                    double[] src = turnK[j];
+                    for (int c = 0; c < states; c++) row[c] += b * src[c];
+                }
+            }
+        }
+        return turn;
+    }
+
+    private static void addRoll(BoardTables tables, double[][] stop, double[][] cont,
+                                int from, int dice, boolean isBackward, double prob, boolean takeBonus) {
+        int to = tables.landing(from, dice, isBackward);
+        boolean bonus = takeBonus && tables.is(to, BoardTables.BONUS);
+        if (bonus) cont[from - 1][to - 1] += prob;
+        else stop[from - 1][to - 1] += prob;
+    }
+
+    private static double[][] identityMinus(double[][] m, int n) {
+        double[][] r = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) r[i][j] = (i == j ? 1.0 : 0.0) - m[i][j];
+        }
+        return r;
+    }
+
+    // LU decomposition in-place (partial pivoting). Return permutasi baris.
+    private static int[] decompose(double[][] a) {
+        int n = a.length;
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++) perm[i] = i;
+        for (int col = 0; col < n; col++) {
+            int pivot = col;
+            for (int r = col + 1; r < n; r++) {
+                if (Math.abs(a[r][col]) > Math.abs(a[pivot][col])) pivot = r;
+            }
+            double[] tmp = a[col]; a[col] = a[pivot]; a[pivot] = tmp;
+            int tp = perm[col]; perm[col] = perm[pivot]; perm[pivot] = tp;
+
+            double[] ac = a[col];
+            double inv = 1.0 / ac[col];
+            for (int r = col + 1; r < n; r++) {
+                double[] ar = a[r];
+                double f = ar[col] * inv;
+                ar[col] = f;
+                if (f == 0) continue;
+                for (int j = col + 1; j < n; j++) ar[j] -= f * ac[j];
+            }
+        }
+        return perm;
+    }
+
+    private static double[] substitute(double[][] lu, int[] perm, double[] b) {
+        int n = lu.length;
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            double sum = b[perm[i]];
+            double[] row = lu[i];
+            for (int j = 0; j < i; j++) sum -= row[j] * x[j];
+            x[i] = sum;
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            double sum = x[i];
+            double[] row = lu[i];
+            for (int j = i + 1; j < n; j++) sum -= row[j] * x[j];
+            x[i] = sum / row[i];
+        }
+        return x;
+    }
+
+    // Gauss-Jordan dengan partial pivoting; a dan b dirusak, hasil = a^-1 b (ditulis ke b)
+    private static double[][] solve(double[][] a, double[][] b) {
+        int n = a.length;
+        for (int col = 0; col < n; col++) {
+            int pivot = col;
+            for (int r = col + 1; r < n; r++) {
+                if (Math.abs(a[r][col]) > Math.abs(a[pivot][col])) pivot = r;
+            }
+            double[] tmp = a[col]; a[col] = a[pivot]; a[pivot] = tmp;
+            tmp = b[col]; b[col] = b[pivot]; b[pivot] = tmp;
+
+            double inv = 1.0 / a[col][col];
+            double[] ac = a[col];
+            double[] bc = b[col];
+            for (int j = col; j < n; j++) ac[j] *= inv;
+            for (int j = 0; j < bc.length; j++) bc[j] *= inv;
+
+            for (int r = 0; r < n; r++) {
+                if (r == col) continue;
+                double f = a[r][col];
+                if (f == 0) continue;
+                double[] ar = a[r];
+                double[] br = b[r];
+                for (int j = col; j < n; j++) ar[j] -= f * ac[j];
+                for (int j = 0; j < br.length; j++) br[j] -= f * bc[j];
+            }
+        }
+        return b;
+    }
+}
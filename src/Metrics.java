@@ -0,0 +1,128 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Registry metrics in-process (opsional, -Dmetrics=true): timer dengan histogram log2 dan counter.
+// Pelengkap GameEvents untuk kalau JFR tidak jalan; laporan dicetak saat aplikasi ditutup.
+// Kalau dimatikan, record() langsung return (tanpa baca jam, tanpa atomic).
+public final class Metrics {
+    public static final boolean ENABLED = Boolean.getBoolean("metrics");
+
+    private static final List<Timer> TIMERS = Collections.synchronizedList(new ArrayList<>());
+    private static final List<Counter> COUNTERS = Collections.synchronizedList(new ArrayList<>());
+
+    public static final Timer TURN = timer("turn.latency");
+    public static final Timer ROLL = timer("turn.roll");
+    public static final Timer PAINT = timer("board.paint");
+    public static final Timer SCOREBOARD = timer("scoreboard.update");
+    public static final Timer AUDIO_OPEN = timer("audio.open");
+    public static final Timer AUDIO_START = timer("audio.start");
+    public static final Counter AUDIO_FAILURES = counter("audio.failures");
+
+    private Metrics() {}
+
+    public static Timer timer(String name) {
+        Timer t = new Timer(name);
+        TIMERS.add(t);
+        return t;
+    }
+
+    public static Counter counter(String name) {
+        Counter c = new Counter(name);
+        COUNTERS.add(c);
+        return c;
+    }
+
+    // Waktu mulai untuk Timer.record; 0 kalau metrics mati (hemat System.nanoTime)
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        synchronized (TIMERS) {
+            for (Timer t : TIMERS) if (t.count.sum() > 0) sb.append(t).append('\n');
+        }
+        synchronized (COUNTERS) {
+            for (Counter c : COUNTERS) if (c.value.sum() > 0) sb.append(c).append('\n');
+        }
+        return sb.toString();
+    }
+
+    public static class Timer {
+        // Bucket i = durasi di [2^i, 2^(i+1)) ns
+        private static final int BUCKETS = 40;
+
+        private final String name;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        Timer(String name) {
+            this.name = name;
+        }
+
+        // startNanos dari Metrics.start()
+        public void recordSince(long startNanos) {
+            if (ENABLED) record(System.nanoTime() - startNanos);
+        }
+
+        public void record(long nanos) {
+            if (!ENABLED) return;
+            count.increment();
+            totalNanos.add(nanos);
+            long max = maxNanos.get();
+            while (nanos > max && !maxNanos.compareAndSet(max, nanos)) max = maxNanos.get();
+            int bucket = Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(Math.max(1, nanos)));
+            histogram.incrementAndGet(bucket);
+        }
+
+        public long getCount() { return count.sum(); }
+        public double getMeanMs() {
+            long n = count.sum();
+            return n == 0 ? 0 : totalNanos.sum() / 1e6 / n;
+        }
+        public double getMaxMs() { return maxNanos.get() / 1e6; }
+
+        // Perkiraan persentil (batas atas bucket), cukup untuk melihat ekor distribusi
+        public double getPercentileMs(double p) {
+            long n = count.sum();
+            if (n == 0) return 0;
+            long target = (long) Math.ceil(p * n);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += histogram.get(i);
+                if (seen >= target) return Math.min((1L << (i + 1)) / 1e6, getMaxMs());
+            }
+            return getMaxMs();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-20s n=%-8d mean %8.3f ms  p50 %8.3f ms  p99 %8.3f ms  max %8.3f ms",
+                    name, getCount(), getMeanMs(), getPercentileMs(0.50), getPercentileMs(0.99), getMaxMs());
+        }
+    }
+
+    public static class Counter {
+        private final String name;
+        private final LongAdder value = new LongAdder();
+
+        Counter(String name) {
+            this.name = name;
+        }
+
+        // Counter selalu dihitung (hanya untuk kejadian jarang seperti kegagalan)
+        public void increment() { value.increment(); }
+        public long get() { return value.sum(); }
+
+        @Override
+        public String toString() {
+            return String.format("%-20s %d", name, get());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Simulasi Monte Carlo multi-core untuk satu susunan papan.
+// Game dibagi ke chunk ukuran tetap; tiap chunk punya stream SplittableRandom sendiri yang
+// diturunkan dari seed + index chunk, jadi hasilnya sama persis berapapun jumlah thread.
+public class MonteCarloSimulator {
+    private static final int CHUNK_GAMES = 1 << 14;
+    private static final int DEFAULT_MAX_TURNS = 100_000;
+
+    private final BoardLayout layout;
+    private final BoardTables tables;
+    private final int players;
+    private final GameEngine.BonusPolicy policy;
+    private int maxTurns = DEFAULT_MAX_TURNS;
+
+    public MonteCarloSimulator(BoardLayout layout, int players, GameEngine.BonusPolicy policy) {
+        this(layout, new BoardTables(layout), players, policy);
+    }
+
+    // Tabel (dan varian aturannya) dipakai bersama oleh semua chunk
+    public MonteCarloSimulator(BoardLayout layout, BoardTables tables, int players, GameEngine.BonusPolicy policy) {
+        if (players < 1 || players > GameEngine.MAX_PLAYERS) {
+            throw new IllegalArgumentException("Players must be 1-" + GameEngine.MAX_PLAYERS + ": " + players);
+        }
+        this.layout = layout;
+        this.tables = tables;
+        this.players = players;
+        this.policy = policy;
+    }
+
+    public void setMaxTurns(int maxTurns) { this.maxTurns = maxTurns; }
+
+    public SimulationStats run(long games, long seed) {
+        return run(games, seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    public SimulationStats run(long games, long seed, int parallelism) {
+        if (games < 0) throw new IllegalArgumentException("Negative game count: " + games);
+        long chunks = (games + CHUNK_GAMES - 1) / CHUNK_GAMES;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(new ChunkTask(0, chunks, games, seed));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Satu chunk = satu engine + satu stream random, dimainkan berurutan
+    private SimulationStats runChunk(long chunk, long totalGames, long seed) {
+        long first = chunk * CHUNK_GAMES;
+        long count = Math.min(CHUNK_GAMES, totalGames - first);
+
+        GameEngine engine = new GameEngine(new SplittableRandom(chunkSeed(seed, chunk)));
+        engine.setLayout(layout, tables);
+        SimulationStats stats = new SimulationStats(players);
+        for (long i = 0; i < count; i++) {
+            engine.newGame(players);
+            engine.playGame(policy, maxTurns);
+            stats.record(engine);
+        }
+        return stats;
+    }
+
+    // Seed chunk dicampur (mix64 ala SplittableRandom) supaya stream antar chunk tidak overlap
+    static long chunkSeed(long seed, long chunk) {
+        long z = seed + (chunk + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private class ChunkTask extends RecursiveTask<SimulationStats> {
+        private final long from;
+        private final long to;
+        private final long totalGames;
+        private final long seed;
+
+        ChunkTask(long from, long to, long totalGames, long seed) {
+            this.from = from;
+            this.to = to;
+            this.totalGames = totalGames;
+            this.seed = seed;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (to - from <= 1) {
+                return from < to ? runChunk(from, totalGames, seed) : new SimulationStats(players);
+            }
+            long mid = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(from, mid, totalGames, seed);
+            left.fork();
+            SimulationStats right = new ChunkTask(mid, to, totalGames, seed).compute();
+            // Urutan merge tetap (kiri lalu kanan), tapi karena integer hasilnya juga tidak tergantung urutan
+            return left.join().merge(right);
+        }
+    }
+}
@@ -9,12 +9,19 @@ public class Player implements Comparable<Player> {
     // Tambahan untuk fitur Score & Record
     private int currentSessionScore;
     private PlayerRecord record;
+    // Bot: roll otomatis, keputusan bonus dari BonusPolicyTable
+    private boolean bot;
 
     public Player(String name, Color color, PlayerRecord record) {
+        this(name, color, record, false);
+    }
+
+    public Player(String name, Color color, PlayerRecord record, boolean bot) {
         this.name = name;
         this.position = 1;
         this.color = color;
         this.record = record;
+        this.bot = bot;
         this.currentSessionScore = 0;
     }
 
@@ -24,6 +31,11 @@ public class Player implements Comparable<Player> {
         this.record.addScore(points); // Simpan ke riwayat abadi juga
     }
 
+    // Resume dari snapshot: record permanen sudah berisi skor ini, jadi tidak ditambah lagi
+    public void restoreScore(int score) {
+        this.currentSessionScore = score;
+    }
+
     // Method untuk menang
     public void addWin() {
         this.record.addWin();
@@ -34,6 +46,7 @@ public class Player implements Comparable<Player> {
     public int getPosition() { return position; }
     public void setPosition(int position) { this.position = position; }
     public Color getColor() { return color; }
+    public boolean isBot() { return bot; }
 
     // Method yang tadi Error (Sekarang sudah ada)
     public int getCurrentScore() { return currentSessionScore; }
@@ -1,20 +1,39 @@
 public class PlayerRecord {
+    // Dipanggil setiap kali record berubah (mis. untuk disimpan ke PlayerRecordStore)
+    public interface ChangeListener {
+        void recordChanged(PlayerRecord record);
+    }
+
+    private final String name;
     private int totalAccumulatedScore;
     private int totalWins;
+    private ChangeListener listener;
+
+    public PlayerRecord(String name) {
+        this(name, 0, 0);
+    }
+
+    public PlayerRecord(String name, int totalAccumulatedScore, int totalWins) {
+        this.name = name;
+        this.totalAccumulatedScore = totalAccumulatedScore;
+        this.totalWins = totalWins;
+    }
 
-    public PlayerRecord() {
-        this.totalAccumulatedScore = 0;
-        this.totalWins = 0;
+    public void setChangeListener(ChangeListener listener) {
+        this.listener = listener;
     }
 
     public void addScore(int score) {
         this.totalAccumulatedScore += score;
+        if (listener != null) listener.recordChanged(this);
     }
 
     public void addWin() {
         this.totalWins++;
+        if (listener != null) listener.recordChanged(this);
     }
 
+    public String getName() { return name; }
     public int getTotalScore() { return totalAccumulatedScore; }
     public int getTotalWins() { return totalWins; }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+import java.io.IOException;
+import java.util.Map;
+
+// Penyimpanan permanen PlayerRecord (total wins & skor) supaya tidak hilang saat restart
+public interface PlayerRecordStore extends AutoCloseable {
+    interface RecordVisitor {
+        void visit(String name, int totalWins, int totalScore);
+    }
+
+    // Baca semua record (dipanggil sekali saat startup). Listener dipasang ke setiap record
+    // yang dikembalikan, termasuk yang baru dibuat saat pertama kali diakses.
+    Map<String, PlayerRecord> loadAll(PlayerRecord.ChangeListener listener) throws IOException;
+
+    // Simpan state record saat ini. Non-blocking: aman dipanggil dari EDT.
+    void save(PlayerRecord record);
+
+    // Kunjungi state terbaru semua record (termasuk save() yang masih antre) tanpa membuat
+    // PlayerRecord. Bisa lama untuk jutaan record: panggil dari background thread, bukan EDT.
+    void forEachRecord(RecordVisitor visitor) throws IOException;
+
+    // Tunggu sampai semua save() sebelumnya sudah tertulis ke disk
+    void flush() throws IOException;
+
+    @Override
+    void close() throws IOException;
+}
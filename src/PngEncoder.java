@@ -0,0 +1,156 @@
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+// Encoder PNG (RGB 8-bit) untuk deretan frame yang hanya berubah sebagian (token bergerak).
+// Image dipotong per pita BAND_ROWS baris; tiap pita di-filter (Sub) lalu di-deflate sendiri dan
+// diakhiri FULL_FLUSH, jadi byte terkompresi semua pita bisa disambung apa adanya menjadi satu
+// stream zlib. Frame berikutnya cukup mengompres ulang pita yang memotong area kotor.
+// Satu instance per thread (menyimpan frame terakhir); ukuran image harus tetap.
+final class PngEncoder {
+    private static final int BAND_ROWS = 16;
+    // Level 3: secepat BEST_SPEED untuk frame board ini, file ~25% lebih kecil
+    private static final int LEVEL = 3;
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private final int width;
+    private final int height;
+    private final int stride;
+    // Baris terfilter: [filter][RGB * width] per baris (input deflate)
+    private final byte[] raw;
+    private final int[] row;
+    private final byte[][] bands;
+    private final int[] bandLength;
+    private final Deflater deflater = new Deflater(LEVEL, true);
+    private final Adler32 adler = new Adler32();
+    private final CRC32 crc = new CRC32();
+    private final byte[] chunkHeader = new byte[8];
+    private boolean empty = true;
+
+    PngEncoder(int width, int height) {
+        this.width = width;
+        this.height = height;
+        stride = 1 + width * 3;
+        raw = new byte[stride * height];
+        row = new int[width];
+        int count = (height + BAND_ROWS - 1) / BAND_ROWS;
+        bands = new byte[count][stride * BAND_ROWS / 4 + 64];
+        bandLength = new int[count];
+    }
+
+    // dirty = area (pixel image) yang berubah sejak write sebelumnya; null = seluruh image
+    void write(BufferedImage image, Rectangle dirty, OutputStream out) throws IOException {
+        if (image.getWidth() != width || image.getHeight() != height) {
+            throw new IllegalArgumentException("Image size changed");
+        }
+        int firstBand = 0;
+        int lastBand = bands.length - 1;
+        if (dirty != null && !empty) {
+            firstBand = Math.max(0, dirty.y / BAND_ROWS);
+            lastBand = Math.min(bands.length - 1, (dirty.y + dirty.height - 1) / BAND_ROWS);
+        }
+        for (int b = firstBand; b <= lastBand; b++) {
+            int end = Math.min(height, (b + 1) * BAND_ROWS);
+            for (int y = b * BAND_ROWS; y < end; y++) filterRow(image, y);
+            compressBand(b);
+        }
+        empty = false;
+
+        adler.reset();
+        adler.update(raw, 0, raw.length);
+        int idatLength = 2 + 4;
+        for (int length : bandLength) idatLength += length;
+
+        out.write(SIGNATURE);
+        byte[] ihdr = new byte[13];
+        putInt(ihdr, 0, width);
+        putInt(ihdr, 4, height);
+        ihdr[8] = 8;  // bit depth
+        ihdr[9] = 2;  // RGB
+        writeChunk(out, "IHDR", ihdr);
+
+        startChunk(out, "IDAT", idatLength);
+        byte[] zlibHeader = {0x78, 0x5E}; // deflate 32K window, level "fast"
+        chunkData(out, zlibHeader, 2);
+        for (int b = 0; b < bands.length; b++) chunkData(out, bands[b], bandLength[b]);
+        byte[] checksum = new byte[4];
+        putInt(checksum, 0, (int) adler.getValue());
+        chunkData(out, checksum, 4);
+        endChunk(out);
+
+        writeChunk(out, "IEND", new byte[0]);
+    }
+
+    // Filter Sub: selisih dengan pixel kiri (gradien petak jadi deretan angka kecil)
+    private void filterRow(BufferedImage image, int y) {
+        image.getRaster().getDataElements(0, y, width, 1, row);
+        int o = y * stride;
+        raw[o++] = 1;
+        int left = 0;
+        for (int x = 0; x < width; x++) {
+            int rgb = row[x];
+            raw[o++] = (byte) ((rgb >>> 16) - (left >>> 16));
+            raw[o++] = (byte) ((rgb >>> 8) - (left >>> 8));
+            raw[o++] = (byte) (rgb - left);
+            left = rgb;
+        }
+    }
+
+    // Pita terakhir menutup stream (FINISH), pita lain FULL_FLUSH: berakhir di batas byte tanpa
+    // referensi ke data sebelumnya, jadi bisa dikompres ulang sendiri-sendiri
+    private void compressBand(int b) {
+        int from = b * BAND_ROWS * stride;
+        int to = Math.min(height, (b + 1) * BAND_ROWS) * stride;
+        boolean last = b == bands.length - 1;
+        deflater.reset();
+        deflater.setInput(raw, from, to - from);
+        if (last) deflater.finish();
+        byte[] out = bands[b];
+        int length = 0;
+        while (true) {
+            if (length == out.length) out = Arrays.copyOf(out, out.length * 2);
+            int n = deflater.deflate(out, length, out.length - length, last ? Deflater.NO_FLUSH : Deflater.FULL_FLUSH);
+            length += n;
+            if (last ? deflater.finished() : length < out.length) break;
+        }
+        bands[b] = out;
+        bandLength[b] = length;
+    }
+
+    private void writeChunk(OutputStream out, String type, byte[] data) throws IOException {
+        startChunk(out, type, data.length);
+        chunkData(out, data, data.length);
+        endChunk(out);
+    }
+
+    private void startChunk(OutputStream out, String type, int length) throws IOException {
+        putInt(chunkHeader, 0, length);
+        for (int i = 0; i < 4; i++) chunkHeader[4 + i] = (byte) type.charAt(i);
+        out.write(chunkHeader);
+        crc.reset();
+        crc.update(chunkHeader, 4, 4);
+    }
+
+    private void chunkData(OutputStream out, byte[] data, int length) throws IOException {
+        out.write(data, 0, length);
+        crc.update(data, 0, length);
+    }
+
+    private void endChunk(OutputStream out) throws IOException {
+        byte[] value = new byte[4];
+        putInt(value, 0, (int) crc.getValue());
+        out.write(value);
+    }
+
+    private static void putInt(byte[] out, int offset, int value) {
+        out[offset] = (byte) (value >>> 24);
+        out[offset + 1] = (byte) (value >>> 16);
+        out[offset + 2] = (byte) (value >>> 8);
+        out[offset + 3] = (byte) value;
+    }
+}
@@ -0,0 +1,271 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Leaderboard sepanjang masa atas semua PlayerRecord (Hall of Fame).
+// Diurutkan: total wins (desc), total score (desc), nama (asc).
+//
+// Strukturnya persistent treap dengan ukuran subtree (order-statistic): update O(log n),
+// top-K O(log n + K), rank pemain O(log n). Setiap update membuat root baru (path copying),
+// jadi pembaca yang memegang Snapshot selalu melihat data yang konsisten walaupun
+// game lain terus meng-update index.
+public class RankingIndex {
+
+    // Satu baris ranking (immutable)
+    public static class Entry {
+        private final String name;
+        private final int wins;
+        private final int score;
+
+        Entry(String name, int wins, int score) {
+            this.name = name;
+            this.wins = wins;
+            this.score = score;
+        }
+
+        public String getName() { return name; }
+        public int getTotalWins() { return wins; }
+        public int getTotalScore() { return score; }
+    }
+
+    private static class Node {
+        final Entry entry;
+        final int priority;
+        final int size;
+        final Node left;
+        final Node right;
+
+        Node(Entry entry, int priority, Node left, Node right) {
+            this.entry = entry;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = 1 + sizeOf(left) + sizeOf(right);
+        }
+
+        Node with(Node left, Node right) {
+            return new Node(entry, priority, left, right);
+        }
+    }
+
+    private static final Comparator<Entry> BY_RANK = (a, b) -> {
+        if (a.wins != b.wins) return Integer.compare(b.wins, a.wins);
+        if (a.score != b.score) return Integer.compare(b.score, a.score);
+        return a.name.compareTo(b.name);
+    };
+    private static final Comparator<Entry> BY_NAME = (a, b) -> a.name.compareTo(b.name);
+
+    // Dua tree berbagi Entry yang sama: satu urut ranking, satu urut nama (untuk cari key lama)
+    public static class Snapshot {
+        private final Node byRank;
+        private final Node byName;
+
+        Snapshot(Node byRank, Node byName) {
+            this.byRank = byRank;
+            this.byName = byName;
+        }
+
+        public int size() { return sizeOf(byRank); }
+
+        public List<Entry> topK(int k) {
+            List<Entry> out = new ArrayList<>(Math.min(k, size()));
+            collect(byRank, k, out);
+            return out;
+        }
+
+        // Rank 1-based, -1 jika pemain tidak ada
+        public int rankOf(String name) {
+            Entry e = get(name);
+            if (e == null) return -1;
+            int rank = 0;
+            Node t = byRank;
+            while (t != null) {
+                int c = BY_RANK.compare(e, t.entry);
+                if (c < 0) {
+                    t = t.left;
+                } else {
+                    rank += sizeOf(t.left);
+                    if (c == 0) return rank + 1;
+                    rank++;
+                    t = t.right;
+                }
+            }
+            return -1;
+        }
+
+        // Entry di posisi rank (1-based), mis. untuk halaman Hall of Fame
+        public Entry atRank(int rank) {
+            int index = rank - 1;
+            if (index < 0 || index >= size()) return null;
+            Node t = byRank;
+            while (true) {
+                int leftSize = sizeOf(t.left);
+                if (index < leftSize) {
+                    t = t.left;
+                } else if (index == leftSize) {
+                    return t.entry;
+                } else {
+                    index -= leftSize + 1;
+                    t = t.right;
+                }
+            }
+        }
+
+        public Entry get(String name) {
+            Node t = byName;
+            while (t != null) {
+                int c = name.compareTo(t.entry.name);
+                if (c == 0) return t.entry;
+                t = c < 0 ? t.left : t.right;
+            }
+            return null;
+        }
+    }
+
+    private volatile Snapshot current = new Snapshot(null, null);
+    // Update yang masuk selama bulk load, diterapkan ulang setelah tree selesai dibangun
+    private Map<String, Entry> pending;
+
+    public Snapshot snapshot() {
+        return current;
+    }
+
+    public void update(PlayerRecord record) {
+        update(record.getName(), record.getTotalWins(), record.getTotalScore());
+    }
+
+    public synchronized void update(String name, int wins, int score) {
+        Entry entry = new Entry(name, wins, score);
+        if (pending != null) pending.put(name, entry);
+        current = apply(current, entry);
+    }
+
+    private static Snapshot apply(Snapshot s, Entry entry) {
+        Node byRank = s.byRank;
+        Node byName = s.byName;
+        Entry old = s.get(entry.name);
+        if (old != null) {
+            if (old.wins == entry.wins && old.score == entry.score) return s;
+            byRank = remove(byRank, old, BY_RANK);
+            byName = remove(byName, old, BY_NAME);
+        }
+        int priority = priority(entry.name);
+        byRank = insert(byRank, new Node(entry, priority, null, null), BY_RANK);
+        byName = insert(byName, new Node(entry, priority, null, null), BY_NAME);
+        return new Snapshot(byRank, byName);
+    }
+
+    // --- BULK LOAD (startup, dari PlayerRecordStore) ---
+
+    // Scan semua record di store (di thread pemanggil, bukan EDT) lalu bangun tree O(n log n).
+    // Update yang terjadi selama scan / build tetap aman: nilainya absolut dan diterapkan ulang di akhir.
+    // Sort + build tree di luar lock, jadi update() dari EDT tidak pernah menunggu bulk load;
+    // lock hanya dipegang untuk menerapkan pending (sedikit) lalu publish.
+    public void load(PlayerRecordStore store) throws java.io.IOException {
+        synchronized (this) {
+            pending = new HashMap<>();
+        }
+        List<Entry> entries = new ArrayList<>();
+        try {
+            store.forEachRecord((name, wins, score) -> entries.add(new Entry(name, wins, score)));
+        } finally {
+            Snapshot built = build(entries);
+            synchronized (this) {
+                for (Entry e : pending.values()) built = apply(built, e);
+                pending = null;
+                current = built;
+            }
+        }
+    }
+
+    private static Snapshot build(List<Entry> entries) {
+        if (entries.isEmpty()) return new Snapshot(null, null);
+        Entry[] sorted = entries.toArray(new Entry[0]);
+        SplittableRandom random = new SplittableRandom(sorted.length);
+        int maxDepth = 32 - Integer.numberOfLeadingZeros(sorted.length);
+        int band = Integer.MAX_VALUE / (maxDepth + 1);
+
+        Arrays.sort(sorted, BY_RANK);
+        Node byRank = buildBalanced(sorted, 0, sorted.length, 0, maxDepth, band, random);
+        Arrays.sort(sorted, BY_NAME);
+        Node byName = buildBalanced(sorted, 0, sorted.length, 0, maxDepth, band, random);
+        return new Snapshot(byRank, byName);
+    }
+
+    // Tree seimbang dari array terurut; priority turun per kedalaman supaya sifat heap treap terjaga
+    private static Node buildBalanced(Entry[] sorted, int from, int to, int depth, int maxDepth, int band, SplittableRandom random) {
+        if (from >= to) return null;
+        int mid = (from + to) >>> 1;
+        Node left = buildBalanced(sorted, from, mid, depth + 1, maxDepth, band, random);
+        Node right = buildBalanced(sorted, mid + 1, to, depth + 1, maxDepth, band, random);
+        int priority = (maxDepth - depth) * band + random.nextInt(band);
+        return new Node(sorted[mid], priority, left, right);
+    }
+
+    // --- OPERASI TREAP PERSISTENT ---
+
+    private static int sizeOf(Node n) {
+        return n == null ? 0 : n.size;
+    }
+
+    private static int priority(String name) {
+        long z = name.hashCode() * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (int) ((z ^ (z >>> 31)) >>> 33);
+    }
+
+    private static Node insert(Node t, Node n, Comparator<Entry> cmp) {
+        if (t == null) return n;
+        if (n.priority > t.priority) {
+            Node[] parts = split(t, n.entry, cmp);
+            return n.with(parts[0], parts[1]);
+        }
+        if (cmp.compare(n.entry, t.entry) < 0) return t.with(insert(t.left, n, cmp), t.right);
+        return t.with(t.left, insert(t.right, n, cmp));
+    }
+
+    private static Node remove(Node t, Entry e, Comparator<Entry> cmp) {
+        if (t == null) return null;
+        int c = cmp.compare(e, t.entry);
+        if (c == 0) return merge(t.left, t.right);
+        if (c < 0) return t.with(remove(t.left, e, cmp), t.right);
+        return t.with(t.left, remove(t.right, e, cmp));
+    }
+
+    // [0] = semua < key, [1] = semua >= key
+    private static Node[] split(Node t, Entry key, Comparator<Entry> cmp) {
+        if (t == null) return new Node[2];
+        if (cmp.compare(t.entry, key) < 0) {
+            Node[] parts = split(t.right, key, cmp);
+            parts[0] = t.with(t.left, parts[0]);
+            return parts;
+        }
+        Node[] parts = split(t.left, key, cmp);
+        parts[1] = t.with(parts[1], t.right);
+        return parts;
+    }
+
+    private static Node merge(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) return a.with(a.left, merge(a.right, b));
+        return b.with(merge(a, b.left), b.right);
+    }
+
+    private static void collect(Node t, int k, List<Entry> out) {
+        if (t == null || out.size() >= k) return;
+        collect(t.left, k, out);
+        if (out.size() < k) out.add(t.entry);
+        collect(t.right, k, out);
+    }
+
+    public List<Entry> topK(int k) {
+        return Collections.unmodifiableList(snapshot().topK(k));
+    }
+}
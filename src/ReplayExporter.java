@@ -0,0 +1,241 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.imageio.ImageIO;
+
+// Export satu game dari turn log jadi deretan PNG (frame-000000.png, ...) untuk highlight reel.
+// Game dimainkan ulang dari log menjadi timeline segmen: jeda sebelum roll (token diam) lalu satu
+// segmen per langkah (naik tangga lebih lama), timing & easing sama dengan animasi Main.
+// Segmen dibagi ke beberapa worker; tiap worker punya GameBoard, Player & BufferedImage sendiri
+// (render offscreen lewat kode gambar GameBoard + SpriteAtlas, jalan di mode headless AWT).
+// Frame langsung di-encode & ditulis, jadi memori = satu image + satu buffer PNG per worker.
+// Frame dalam segmen jeda semuanya sama: di-encode sekali, byte-nya ditulis ke setiap file.
+public class ReplayExporter {
+    // Timing sama dengan Main (STEP_MS / CLIMB_MS); jeda dadu dipendekkan untuk video
+    private static final int ROLL_PAUSE_MS = 500;
+    private static final int STEP_MS = 300;
+    private static final int CLIMB_MS = 600;
+    private static final int END_HOLD_MS = 2000;
+    private static final Color[] COLORS = {
+            new Color(231, 76, 60), new Color(52, 152, 219), new Color(241, 196, 15), new Color(155, 89, 182)
+    };
+
+    // Satu potong timeline [start, end) ms. mover < 0 = jeda, semua token diam di positions.
+    private static final class Segment {
+        final long start;
+        final long end;
+        final int mover;
+        final int from;
+        final int to;
+        final Ladder ladder;
+        // Posisi semua pemain di awal segmen
+        final int[] positions;
+
+        Segment(long start, long end, int mover, int from, int to, Ladder ladder, int[] positions) {
+            this.start = start;
+            this.end = end;
+            this.mover = mover;
+            this.from = from;
+            this.to = to;
+            this.ladder = ladder;
+            this.positions = positions;
+        }
+    }
+
+    private final TurnLog.Game game;
+    private final List<Segment> segments = new ArrayList<>();
+    private final long durationMs;
+    private int fps = 30;
+    private double scale = 1.0;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private String[] names;
+
+    public ReplayExporter(TurnLog.Game game) {
+        this.game = game;
+        names = new String[game.getPlayers()];
+        for (int i = 0; i < names.length; i++) names[i] = "Player " + (i + 1);
+        durationMs = buildTimeline();
+    }
+
+    public void setFps(int fps) { this.fps = fps; }
+    public void setScale(double scale) { this.scale = scale; }
+    public void setParallelism(int parallelism) { this.parallelism = parallelism; }
+    // Inisial token diambil dari nama
+    public void setNames(String[] names) { this.names = names.clone(); }
+
+    public long getDurationMs() { return durationMs; }
+
+    public int getFrameCount() {
+        return frameAt(durationMs);
+    }
+
+    // Frame pertama yang waktunya >= ms
+    private int frameAt(long ms) {
+        return (int) ((ms * fps + 999) / 1000);
+    }
+
+    // Mainkan ulang log (dadu & poin dari log, tanpa random) dan catat jalur setiap roll
+    private long buildTimeline() {
+        BoardLayout layout = game.getLayout();
+        GameEngine engine = new GameEngine(new SplittableRandom(game.getSeed()));
+        engine.setLayout(layout);
+        BoardTables tables = engine.getTables();
+        Ladder[] ladderAt = new Ladder[tables.getFinish() + 1];
+        for (Ladder l : layout.getLadders()) ladderAt[l.getFrom()] = l;
+
+        int[] path = new int[GameEngine.MAX_PATH];
+        long[] time = {0};
+        engine.setTurnListener(new GameEngine.TurnListener() {
+            @Override
+            public void rolled(int dice, boolean backward, int[] points, int count) {
+                // Dipanggil sebelum posisi berubah: state engine = awal roll
+                int seat = engine.getCurrentSeat();
+                int[] positions = new int[game.getPlayers()];
+                for (int i = 0; i < positions.length; i++) positions[i] = engine.getPosition(i);
+                int from = positions[seat];
+                int n = tables.tracePath(from, dice, backward, tables.is(from, BoardTables.PRIME), path);
+                segments.add(new Segment(time[0], time[0] + ROLL_PAUSE_MS, -1, from, from, null, positions));
+                time[0] += ROLL_PAUSE_MS;
+                for (int i = 0; i < n; i++) {
+                    Ladder ladder = Math.abs(path[i] - from) > 1 ? ladderAt[from] : null;
+                    long length = ladder != null ? CLIMB_MS : STEP_MS;
+                    int[] at = positions.clone();
+                    at[seat] = from;
+                    segments.add(new Segment(time[0], time[0] + length, seat, from, path[i], ladder, at));
+                    time[0] += length;
+                    from = path[i];
+                }
+            }
+
+            @Override
+            public void bonusChosen(boolean rollAgain) {
+            }
+        });
+        TurnLog.replay(game, engine, Integer.MAX_VALUE);
+
+        int[] positions = new int[game.getPlayers()];
+        for (int i = 0; i < positions.length; i++) positions[i] = engine.getPosition(i);
+        segments.add(new Segment(time[0], time[0] + END_HOLD_MS, -1, 0, 0, null, positions));
+        return time[0] + END_HOLD_MS;
+    }
+
+    // Tulis semua frame ke directory. Return jumlah frame.
+    public int export(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        AtomicInteger nextSegment = new AtomicInteger();
+        AtomicLong written = new AtomicLong();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<ForkJoinTask<?>> workers = new ArrayList<>();
+            for (int w = 0; w < parallelism; w++) {
+                workers.add(pool.submit(() -> {
+                    Worker worker = new Worker(directory);
+                    int s;
+                    while ((s = nextSegment.getAndIncrement()) < segments.size()) {
+                        written.addAndGet(worker.render(segments.get(s)));
+                    }
+                }));
+            }
+            for (ForkJoinTask<?> worker : workers) worker.join();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdown();
+        }
+        return (int) written.get();
+    }
+
+    // State render satu thread
+    private class Worker {
+        private final Path directory;
+        private final GameBoard board = new GameBoard();
+        private final List<Player> players = new ArrayList<>();
+        private final BufferedImage image;
+        private final ByteArrayOutputStream png = new ByteArrayOutputStream(1 << 18);
+        private final PngEncoder encoder;
+
+        Worker(Path directory) {
+            this.directory = directory;
+            BoardLayout layout = game.getLayout();
+            board.setBoard(layout, new BoardTables(layout));
+            for (int i = 0; i < game.getPlayers(); i++) {
+                String name = i < names.length ? names[i] : "Player " + (i + 1);
+                players.add(new Player(name, COLORS[i % COLORS.length], new PlayerRecord(name)));
+            }
+            board.setPlayers(players);
+            Dimension size = board.getPreferredSize();
+            board.setSize(size);
+            image = new BufferedImage((int) Math.ceil(size.width * scale), (int) Math.ceil(size.height * scale),
+                    BufferedImage.TYPE_INT_RGB);
+            encoder = new PngEncoder(image.getWidth(), image.getHeight());
+        }
+
+        // Semua frame yang jatuh di segmen ini. Return jumlah file yang ditulis.
+        // Frame pertama digambar penuh; berikutnya hanya area token yang bergerak (gambar & encode).
+        int render(Segment segment) {
+            int first = frameAt(segment.start);
+            int end = Math.min(frameAt(segment.end), getFrameCount());
+            if (first >= end) return 0;
+            try {
+                for (int f = first; f < end; f++) {
+                    if (segment.mover >= 0 || f == first) {
+                        double t = (f * 1000.0 / fps - segment.start) / (segment.end - segment.start);
+                        Rectangle dirty = draw(segment, t, f == first);
+                        png.reset();
+                        encoder.write(image, dirty, png);
+                    }
+                    try (OutputStream out = Files.newOutputStream(directory.resolve(String.format("frame-%06d.png", f)))) {
+                        png.writeTo(out);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return end - first;
+        }
+
+        // Return area pixel image yang berubah (null = seluruh image)
+        private Rectangle draw(Segment segment, double t, boolean full) {
+            if (full) {
+                for (int i = 0; i < players.size(); i++) {
+                    Player p = players.get(i);
+                    p.setPosition(segment.positions[i]);
+                    board.settleToken(p);
+                }
+                board.setHighlightLadder(segment.ladder);
+            }
+            if (segment.mover >= 0) {
+                board.moveToken(players.get(segment.mover), segment.from, segment.to, t * t * (3 - 2 * t));
+            }
+            Rectangle changed = board.takeDirtyRegion();
+            Rectangle clip = full ? new Rectangle(board.getSize()) : changed;
+            if (clip.isEmpty()) return clip;
+            Graphics2D g = image.createGraphics();
+            try {
+                g.scale(scale, scale);
+                g.clip(clip);
+                board.paint(g);
+            } finally {
+                g.dispose();
+            }
+            if (full) return null;
+            // Logical -> pixel image (+1 untuk antialias di tepi)
+            int x = (int) Math.floor(clip.x * scale) - 1;
+            int y = (int) Math.floor(clip.y * scale) - 1;
+            return new Rectangle(x, y, (int) Math.ceil((clip.x + clip.width) * scale) + 1 - x,
+                    (int) Math.ceil((clip.y + clip.height) * scale) + 1 - y);
+        }
+    }
+}
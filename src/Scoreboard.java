@@ -0,0 +1,195 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Panel LIVE LEADERBOARD yang incremental:
+// - satu Row permanen per pemain (tidak ada removeAll / JLabel baru per langkah)
+// - ranking dijaga dengan insertion sort pakai Player.compareTo (list hampir selalu sudah urut)
+// - hanya row yang rank / posisi / skor-nya berubah yang di-repaint
+// - perubahan urutan dianimasikan dengan setLocation, tanpa layout ulang container
+public class Scoreboard extends JPanel {
+    private static final int ROW_HEIGHT = 52;
+    private static final int ANIMATION_DELAY = 16;
+    private static final double ANIMATION_EASE = 0.35;
+
+    // Warna UI
+    private final Color COLOR_PANEL_BG = new Color(44, 62, 80);
+    private static final Color COLOR_ACCENT_ORANGE = new Color(230, 126, 34);
+    private static final Color COLOR_GREEN = new Color(46, 204, 113);
+    private static final Color COLOR_SEPARATOR = new Color(255, 255, 255, 40);
+
+    private static final Font FONT_NAME = new Font("Segoe UI", Font.BOLD, 14);
+    private static final Font FONT_WINS = new Font("Segoe UI", Font.PLAIN, 11);
+    private static final Font FONT_NODE = new Font("Segoe UI", Font.BOLD, 14);
+    private static final Font FONT_SCORE = new Font("Segoe UI", Font.BOLD, 12);
+
+    private final Map<Player, Row> rows = new IdentityHashMap<>();
+    private final List<Row> ranking = new ArrayList<>();
+    private final Timer reorderTimer;
+
+    public Scoreboard() {
+        setLayout(null);
+        setBackground(COLOR_PANEL_BG);
+        reorderTimer = new Timer(ANIMATION_DELAY, e -> stepAnimation());
+    }
+
+    public void update(List<Player> players) {
+        if (!sameRoster(players)) {
+            rebuild(players);
+            return;
+        }
+
+        // Insertion sort: O(n + jumlah inversi), biasanya cuma 1 pemain yang bergeser
+        for (int i = 1; i < ranking.size(); i++) {
+            Row row = ranking.get(i);
+            int j = i - 1;
+            while (j >= 0 && ranking.get(j).player.compareTo(row.player) > 0) {
+                ranking.set(j + 1, ranking.get(j));
+                j--;
+            }
+            ranking.set(j + 1, row);
+        }
+
+        boolean moving = false;
+        for (int i = 0; i < ranking.size(); i++) {
+            Row row = ranking.get(i);
+            if (row.refresh(i + 1)) row.repaint();
+            if (row.targetY != i * ROW_HEIGHT) {
+                row.targetY = i * ROW_HEIGHT;
+                moving = true;
+            }
+        }
+        if (moving && !reorderTimer.isRunning()) reorderTimer.start();
+    }
+
+    private boolean sameRoster(List<Player> players) {
+        if (players.size() != rows.size()) return false;
+        for (Player p : players) if (!rows.containsKey(p)) return false;
+        return true;
+    }
+
+    // Pemain berganti (game baru): satu-satunya saat row dibuat & container di-layout ulang
+    private void rebuild(List<Player> players) {
+        reorderTimer.stop();
+        removeAll();
+        rows.clear();
+        ranking.clear();
+        for (Player p : players) {
+            Row row = new Row(p);
+            rows.put(p, row);
+            ranking.add(row);
+            add(row);
+        }
+        ranking.sort((a, b) -> a.player.compareTo(b.player));
+        for (int i = 0; i < ranking.size(); i++) {
+            Row row = ranking.get(i);
+            row.refresh(i + 1);
+            row.targetY = i * ROW_HEIGHT;
+            row.setBounds(0, row.targetY, getWidth(), ROW_HEIGHT);
+        }
+        revalidate();
+        repaint();
+    }
+
+    private void stepAnimation() {
+        boolean moving = false;
+        for (Row row : ranking) {
+            int y = row.getY();
+            if (y == row.targetY) continue;
+            int delta = (int) Math.round((row.targetY - y) * ANIMATION_EASE);
+            if (delta == 0) delta = Integer.signum(row.targetY - y);
+            row.setLocation(0, y + delta);
+            moving = true;
+        }
+        if (!moving) reorderTimer.stop();
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(340, ranking.size() * ROW_HEIGHT);
+    }
+
+    @Override
+    public Dimension getMaximumSize() {
+        return new Dimension(340, getPreferredSize().height);
+    }
+
+    // Layout hanya mengikuti lebar panel (saat resize), posisi Y diatur ranking
+    @Override
+    public void doLayout() {
+        for (Row row : ranking) row.setSize(getWidth(), ROW_HEIGHT);
+    }
+
+    // Satu baris leaderboard, digambar langsung (tanpa JLabel) dan hanya di-update kalau berubah
+    private static class Row extends JComponent {
+        private final Player player;
+        private int targetY;
+
+        private int rank = -1;
+        private int position = -1;
+        private int score = -1;
+        private int wins = -1;
+        private String nameText;
+        private String winsText;
+        private String nodeText;
+        private String scoreText;
+
+        Row(Player player) {
+            this.player = player;
+        }
+
+        // Return true jika ada yang berubah
+        boolean refresh(int newRank) {
+            boolean changed = false;
+            if (newRank != rank) {
+                rank = newRank;
+                nameText = "#" + rank + " " + player.getName();
+                changed = true;
+            }
+            if (player.getTotalWins() != wins) {
+                wins = player.getTotalWins();
+                winsText = "Total Wins: " + wins;
+                changed = true;
+            }
+            if (player.getPosition() != position) {
+                position = player.getPosition();
+                nodeText = "Node: " + position;
+                changed = true;
+            }
+            if (player.getCurrentScore() != score) {
+                score = player.getCurrentScore();
+                scoreText = "Score: " + score;
+                changed = true;
+            }
+            return changed;
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2d = (Graphics2D) g;
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            int w = getWidth();
+            int right = w - 5;
+
+            g2d.setFont(FONT_NAME);
+            g2d.setColor(Color.WHITE);
+            g2d.drawString(nameText, 5, 24);
+            g2d.setFont(FONT_WINS);
+            g2d.setColor(Color.GRAY);
+            g2d.drawString(winsText, 5, 41);
+
+            g2d.setFont(FONT_NODE);
+            g2d.setColor(COLOR_GREEN);
+            g2d.drawString(nodeText, right - g2d.getFontMetrics().stringWidth(nodeText), 24);
+            g2d.setFont(FONT_SCORE);
+            g2d.setColor(COLOR_ACCENT_ORANGE);
+            g2d.drawString(scoreText, right - g2d.getFontMetrics().stringWidth(scoreText), 41);
+
+            g2d.setColor(COLOR_SEPARATOR);
+            g2d.drawLine(0, ROW_HEIGHT - 1, w, ROW_HEIGHT - 1);
+        }
+    }
+}
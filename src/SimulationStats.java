@@ -0,0 +1,94 @@
+// Statistik hasil simulasi. Semua hitungan integer supaya hasil merge
+// identik bit-per-bit berapapun jumlah thread-nya.
+public class SimulationStats {
+    // Histogram panjang game; game yang lebih panjang masuk bucket terakhir
+    public static final int MAX_TRACKED_TURNS = 512;
+
+    private final int players;
+    private long games;
+    private long unfinished;
+    private long sumTurns;
+    private long sumTurnsSquared;
+    private long sumWinnerScore;
+    private final long[] winsBySeat;
+    private final long[] turnHistogram = new long[MAX_TRACKED_TURNS + 1];
+
+    public SimulationStats(int players) {
+        this.players = players;
+        this.winsBySeat = new long[players];
+    }
+
+    // Catat satu game yang sudah selesai dimainkan oleh engine
+    public void record(GameEngine engine) {
+        int winner = engine.getWinner();
+        if (winner < 0) recordUnfinished();
+        else record(winner, engine.getTurnCount(), engine.getScore(winner));
+    }
+
+    // turns = total giliran semua kursi yang sudah dimulai (GameEngine.getTurnCount)
+    public void record(int winner, long turns, long winnerScore) {
+        games++;
+        // Giliran si pemenang = jumlah giliran dia sendiri, bukan total semua kursi
+        long ownTurns = (turns - 1) / players + 1;
+        sumTurns += ownTurns;
+        sumTurnsSquared += ownTurns * ownTurns;
+        turnHistogram[(int) Math.min(ownTurns, MAX_TRACKED_TURNS)]++;
+        winsBySeat[winner]++;
+        sumWinnerScore += winnerScore;
+    }
+
+    public void recordUnfinished() {
+        games++;
+        unfinished++;
+    }
+
+    public SimulationStats merge(SimulationStats other) {
+        games += other.games;
+        unfinished += other.unfinished;
+        sumTurns += other.sumTurns;
+        sumTurnsSquared += other.sumTurnsSquared;
+        sumWinnerScore += other.sumWinnerScore;
+        for (int i = 0; i < winsBySeat.length; i++) winsBySeat[i] += other.winsBySeat[i];
+        for (int i = 0; i < turnHistogram.length; i++) turnHistogram[i] += other.turnHistogram[i];
+        return this;
+    }
+
+    private long finished() { return games - unfinished; }
+
+    // --- GETTERS ---
+    public int getPlayers() { return players; }
+    public long getGames() { return games; }
+    public long getUnfinished() { return unfinished; }
+    public long getWins(int seat) { return winsBySeat[seat]; }
+    public long getTurnHistogram(int turns) { return turnHistogram[turns]; }
+
+    public double getMeanTurns() {
+        return finished() == 0 ? 0 : (double) sumTurns / finished();
+    }
+
+    public double getTurnVariance() {
+        if (finished() == 0) return 0;
+        double mean = getMeanTurns();
+        return (double) sumTurnsSquared / finished() - mean * mean;
+    }
+
+    public double getWinRate(int seat) {
+        return games == 0 ? 0 : (double) winsBySeat[seat] / games;
+    }
+
+    public double getMeanWinnerScore() {
+        return finished() == 0 ? 0 : (double) sumWinnerScore / finished();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Games: ").append(games).append(" (unfinished ").append(unfinished).append(")\n");
+        sb.append(String.format("Winner turns: mean %.4f, variance %.4f%n", getMeanTurns(), getTurnVariance()));
+        sb.append(String.format("Winner score: mean %.2f%n", getMeanWinnerScore()));
+        for (int i = 0; i < players; i++) {
+            sb.append(String.format("Seat %d win rate: %.5f%n", i + 1, getWinRate(i)));
+        }
+        return sb.toString();
+    }
+}
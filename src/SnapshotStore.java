@@ -0,0 +1,125 @@
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+
+// Folder berisi game yang ditangguhkan, satu file kecil per game: <id>.lgs.
+// save()/delete() hanya enqueue (aman dari EDT); thread writer menulis ke file sementara lalu
+// rename atomik, jadi file yang terbaca selalu utuh meskipun aplikasi mati saat menulis.
+// Snapshot yang antre untuk id yang sama digabung: hanya yang terbaru ditulis.
+public class SnapshotStore implements AutoCloseable {
+    private static final String SUFFIX = ".lgs";
+    private static final Object CLOSE = new Object();
+
+    private static class Delete {
+        final String id;
+
+        Delete(String id) {
+            this.id = id;
+        }
+    }
+
+    private final Path directory;
+    private final LinkedBlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile IOException writeError;
+
+    public SnapshotStore(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        writer = new Thread(this::writeLoop, "snapshot-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public void save(GameSnapshot snapshot) {
+        queue.offer(snapshot);
+    }
+
+    public void delete(String id) {
+        queue.offer(new Delete(id));
+    }
+
+    // Semua snapshot yang sudah tertulis, terbaru dulu. File rusak dilewati (dicetak ke console).
+    public List<GameSnapshot> list() throws IOException {
+        List<GameSnapshot> snapshots = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String id = name.substring(0, name.length() - SUFFIX.length());
+                try {
+                    snapshots.add(GameSnapshot.decode(id, Files.readAllBytes(file)));
+                } catch (NoSuchFileException e) {
+                    // Baru saja dihapus writer
+                } catch (IOException e) {
+                    System.out.println("Skipping saved game " + name + ": " + e.getMessage());
+                }
+            }
+        }
+        snapshots.sort((a, b) -> Long.compare(b.getSavedAt(), a.getSavedAt()));
+        return snapshots;
+    }
+
+    private void writeLoop() {
+        List<Object> batch = new ArrayList<>();
+        Map<String, Object> latest = new LinkedHashMap<>();
+        boolean running = true;
+        while (running) {
+            batch.clear();
+            latest.clear();
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch);
+            for (Object op : batch) {
+                if (op == CLOSE) {
+                    running = false;
+                } else if (op instanceof GameSnapshot) {
+                    latest.put(((GameSnapshot) op).getId(), op);
+                } else {
+                    latest.put(((Delete) op).id, op);
+                }
+            }
+            for (Map.Entry<String, Object> e : latest.entrySet()) {
+                Path file = directory.resolve(e.getKey() + SUFFIX);
+                try {
+                    if (e.getValue() instanceof GameSnapshot) {
+                        Path tmp = directory.resolve(e.getKey() + SUFFIX + ".tmp");
+                        Files.write(tmp, ((GameSnapshot) e.getValue()).encode());
+                        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    } else {
+                        Files.deleteIfExists(file);
+                    }
+                } catch (IOException ex) {
+                    writeError = ex;
+                    System.out.println("Error saving game " + e.getKey() + ": " + ex.getMessage());
+                } catch (RuntimeException ex) {
+                    // Satu snapshot yang gagal tidak boleh mematikan writer (save berikutnya tetap ditulis)
+                    writeError = new IOException("Cannot save game " + e.getKey(), ex);
+                    System.out.println("Error saving game " + e.getKey() + ": " + ex);
+                }
+            }
+        }
+    }
+
+    // Tunggu semua save/delete yang antre selesai ditulis
+    @Override
+    public void close() throws IOException {
+        queue.offer(CLOSE);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writeError != null) throw writeError;
+    }
+}
@@ -0,0 +1,255 @@
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.SourceDataLine;
+import java.io.File;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.locks.LockSupport;
+
+// Mixer efek suara dengan latency rendah.
+// - File WAV di-decode SEKALI ke PCM di memori (di-resample ke format mixer)
+// - Semua suara dimainkan lewat SATU SourceDataLine oleh thread mixer
+// - Jumlah voice dibatasi (voice tertua diganti kalau penuh), tidak ada Clip baru per langkah
+public class SoundMixer implements AutoCloseable {
+    private static final float SAMPLE_RATE = 44100f;
+    private static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, 2, true, false);
+    private static final int MAX_VOICES = 6;
+    private static final int BLOCK_FRAMES = 512;                  // ~12 ms per blok
+    private static final int LINE_BUFFER_FRAMES = BLOCK_FRAMES * 4; // latency maksimum ~46 ms
+    private static final int MAX_PENDING = 16;
+
+    // PCM siap mix: 16-bit stereo interleaved, 44.1 kHz
+    public static class Sound {
+        private final String name;
+        private final short[] samples;
+        private final float gain;
+
+        private Sound(String name, short[] samples, float gain) {
+            this.name = name;
+            this.samples = samples;
+            this.gain = gain;
+        }
+
+        public String getName() { return name; }
+        public double getDurationSeconds() { return samples.length / 2 / SAMPLE_RATE; }
+    }
+
+    private final SourceDataLine line;
+    private final Thread mixerThread;
+    private volatile boolean running;
+    private final ArrayBlockingQueue<Request> pending = new ArrayBlockingQueue<>(MAX_PENDING);
+
+    // play() yang belum dimix; waktu antre untuk mengukur latency play -> suara mulai
+    private static class Request {
+        final Sound sound;
+        final long queuedNanos;
+
+        Request(Sound sound, long queuedNanos) {
+            this.sound = sound;
+            this.queuedNanos = queuedNanos;
+        }
+    }
+
+    // Voice pool (hanya disentuh thread mixer)
+    private final Sound[] voiceSound = new Sound[MAX_VOICES];
+    private final int[] voicePos = new int[MAX_VOICES];
+    private final long[] voiceStarted = new long[MAX_VOICES];
+    private long voiceCounter;
+
+    public SoundMixer() {
+        SourceDataLine opened = null;
+        GameEvents.AudioOpenEvent event = new GameEvents.AudioOpenEvent();
+        event.begin();
+        long started = Metrics.start();
+        try {
+            opened = AudioSystem.getSourceDataLine(FORMAT);
+            opened.open(FORMAT, LINE_BUFFER_FRAMES * FORMAT.getFrameSize());
+            opened.start();
+            Metrics.AUDIO_OPEN.recordSince(started);
+            event.end();
+            if (event.shouldCommit()) {
+                event.sound = "mixer line";
+                event.bytes = opened.getBufferSize();
+                event.commit();
+            }
+        } catch (Exception e) {
+            System.out.println("Audio disabled: " + e.getMessage());
+            GameEvents.audioFailure("mixer line", e.toString());
+            if (opened != null) opened.close();
+            opened = null;
+        }
+        line = opened;
+        running = line != null;
+        if (running) {
+            mixerThread = new Thread(this::mixLoop, "sound-mixer");
+            mixerThread.setDaemon(true);
+            mixerThread.setPriority(Thread.MAX_PRIORITY);
+            mixerThread.start();
+        } else {
+            mixerThread = null;
+        }
+    }
+
+    public boolean isEnabled() { return running; }
+
+    public Sound load(String path) {
+        return load(path, 1.0f);
+    }
+
+    // Decode + resample sekali. Return null kalau file tidak ada / gagal (suara di-skip)
+    public Sound load(String path, float gain) {
+        File soundFile = new File(path);
+        if (!soundFile.exists()) {
+            System.out.println("SFX file not found at: " + path);
+            GameEvents.audioFailure(path, "file not found");
+            return null;
+        }
+        GameEvents.AudioOpenEvent event = new GameEvents.AudioOpenEvent();
+        event.begin();
+        long started = Metrics.start();
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(soundFile)) {
+            AudioFormat src = source.getFormat();
+            AudioFormat pcm = new AudioFormat(src.getSampleRate(), 16, 2, true, false);
+            try (AudioInputStream in = src.matches(pcm) ? source : AudioSystem.getAudioInputStream(pcm, source)) {
+                byte[] bytes = in.readAllBytes();
+                short[] samples = new short[bytes.length / 2];
+                for (int i = 0; i < samples.length; i++) {
+                    samples[i] = (short) ((bytes[2 * i] & 0xFF) | (bytes[2 * i + 1] << 8));
+                }
+                Sound sound = new Sound(soundFile.getName(), resample(samples, pcm.getSampleRate()), gain);
+                Metrics.AUDIO_OPEN.recordSince(started);
+                event.end();
+                if (event.shouldCommit()) {
+                    event.sound = sound.getName();
+                    event.bytes = sound.samples.length * 2L;
+                    event.commit();
+                }
+                return sound;
+            }
+        } catch (Exception e) {
+            System.out.println("Error loading SFX " + path + ": " + e.getMessage());
+            GameEvents.audioFailure(path, e.toString());
+            return null;
+        }
+    }
+
+    // Linear interpolation ke SAMPLE_RATE (mis. roll-dice.wav 48 kHz -> 44.1 kHz)
+    private static short[] resample(short[] samples, float sourceRate) {
+        if (sourceRate == SAMPLE_RATE) return samples;
+        int srcFrames = samples.length / 2;
+        int dstFrames = (int) ((long) srcFrames * SAMPLE_RATE / sourceRate);
+        short[] out = new short[dstFrames * 2];
+        double step = sourceRate / SAMPLE_RATE;
+        for (int f = 0; f < dstFrames; f++) {
+            double srcPos = f * step;
+            int i = (int) srcPos;
+            double frac = srcPos - i;
+            int next = Math.min(i + 1, srcFrames - 1);
+            for (int c = 0; c < 2; c++) {
+                out[f * 2 + c] = (short) Math.round(samples[i * 2 + c] * (1 - frac) + samples[next * 2 + c] * frac);
+            }
+        }
+        return out;
+    }
+
+    // Aman dipanggil dari EDT: hanya enqueue, tidak ada I/O atau alokasi line
+    public void play(Sound sound) {
+        if (sound == null || !running) return;
+        // Penuh = di-drop (burst lebih dari MAX_PENDING dalam satu blok)
+        if (!pending.offer(new Request(sound, System.nanoTime()))) {
+            GameEvents.audioFailure(sound.getName(), "dropped: mixer queue full");
+        }
+        LockSupport.unpark(mixerThread);
+    }
+
+    private void mixLoop() {
+        int[] mix = new int[BLOCK_FRAMES * 2];
+        byte[] out = new byte[BLOCK_FRAMES * FORMAT.getFrameSize()];
+        int activeVoices = 0;
+
+        while (running) {
+            Request next;
+            while ((next = pending.poll()) != null) {
+                if (startVoice(next.sound)) activeVoices++;
+                recordStart(next);
+            }
+            if (activeVoices == 0) {
+                // Idle: tunggu sampai ada play() (unpark) tanpa menulis silence terus-menerus
+                LockSupport.park(this);
+                continue;
+            }
+
+            Arrays.fill(mix, 0);
+            for (int v = 0; v < MAX_VOICES; v++) {
+                Sound s = voiceSound[v];
+                if (s == null) continue;
+                short[] samples = s.samples;
+                int pos = voicePos[v];
+                int count = Math.min(mix.length, samples.length - pos);
+                float gain = s.gain;
+                for (int i = 0; i < count; i++) mix[i] += (int) (samples[pos + i] * gain);
+                pos += count;
+                if (pos >= samples.length) {
+                    voiceSound[v] = null;
+                    activeVoices--;
+                } else {
+                    voicePos[v] = pos;
+                }
+            }
+
+            for (int i = 0; i < mix.length; i++) {
+                int sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mix[i]));
+                out[2 * i] = (byte) sample;
+                out[2 * i + 1] = (byte) (sample >> 8);
+            }
+            // write() blok sampai ada ruang di buffer line -> ini yang menjaga tempo mixer
+            line.write(out, 0, out.length);
+        }
+    }
+
+    // Latency play() -> voice mulai dimix (belum termasuk buffer line, maks ~46 ms)
+    private static void recordStart(Request request) {
+        long latency = System.nanoTime() - request.queuedNanos;
+        Metrics.AUDIO_START.record(latency);
+        GameEvents.AudioStartEvent event = new GameEvents.AudioStartEvent();
+        if (!event.shouldCommit()) return;
+        event.sound = request.sound.getName();
+        event.latency = latency;
+        event.commit();
+    }
+
+    // Return true jika voice baru terpakai (false jika menggantikan voice tertua)
+    private boolean startVoice(Sound sound) {
+        int slot = -1;
+        int oldest = 0;
+        for (int v = 0; v < MAX_VOICES; v++) {
+            if (voiceSound[v] == null) {
+                slot = v;
+                break;
+            }
+            if (voiceStarted[v] < voiceStarted[oldest]) oldest = v;
+        }
+        boolean fresh = slot >= 0;
+        if (!fresh) slot = oldest;
+        voiceSound[slot] = sound;
+        voicePos[slot] = 0;
+        voiceStarted[slot] = voiceCounter++;
+        return fresh;
+    }
+
+    @Override
+    public void close() {
+        if (!running) return;
+        running = false;
+        LockSupport.unpark(mixerThread);
+        try {
+            mixerThread.join(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        line.stop();
+        line.flush();
+        line.close();
+    }
+}
@@ -0,0 +1,264 @@
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Sprite papan yang sudah di-raster sekali per skala HiDPI: tile petak, digit angka, label START /
+// FINISH, emoji dadu, bintang, dan token per pemain (dibuat saat pertama dipakai).
+// Layout glyph & fallback font emoji (mahal, terutama di Linux) hanya terjadi saat atlas dibuat;
+// paint tinggal blit image ke pixel device yang sama (tanpa scaling).
+// Angka petak disusun dari 10 glyph digit (papan 1000x1000 punya sejuta nomor).
+// Immutable setelah dibuat (cache token concurrent): aman dipakai beberapa thread render sekaligus.
+public final class SpriteAtlas {
+    private static final int CELL_SIZE = GameBoard.CELL_SIZE;
+    private static final ConcurrentHashMap<Double, SpriteAtlas> ATLASES = new ConcurrentHashMap<>();
+
+    // Jenis tile petak
+    public static final int CELL_A = 0;
+    public static final int CELL_B = 1;
+    public static final int CELL_PRIME = 2; // Lavender (Ladder Access)
+    public static final int CELL_BONUS = 3; // Kuning (Bonus Dice)
+
+    private static final Color[] CELL_COLORS = {
+            new Color(245, 245, 245), new Color(225, 225, 225), new Color(240, 230, 255), new Color(255, 250, 200)
+    };
+    private static final Color COLOR_CELL_BORDER = new Color(0, 0, 0, 40);
+    private static final BasicStroke STROKE_CELL = new BasicStroke(1.5f);
+    private static final Color COLOR_TEXT = new Color(60, 60, 60);
+    private static final Color COLOR_START = new Color(46, 204, 113);
+    private static final Color COLOR_FINISH = new Color(231, 76, 60);
+    private static final Font FONT_NUMBER = new Font("Segoe UI", Font.BOLD, 24);
+    private static final Font FONT_NUMBER_SMALL = new Font("Segoe UI", Font.BOLD, 15); // 5+ digit
+    private static final Font FONT_DICE = new Font("Segoe UI Emoji", Font.PLAIN, 26);
+    private static final Font FONT_LABEL = new Font("Segoe UI", Font.BOLD, 15);
+    private static final Font FONT_TOKEN = new Font("Arial", Font.BOLD, 16);
+    private static final int TOKEN_SIZE = 36;
+
+    // Image + offset pojok kiri-atas dari titik anchor, dalam pixel device
+    private static final class Sprite {
+        final BufferedImage image;
+        final int offsetX;
+        final int offsetY;
+
+        Sprite(BufferedImage image, int offsetX, int offsetY) {
+            this.image = image;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+        }
+    }
+
+    // Menggambar isi sprite relatif ke anchor (0, 0) dalam koordinat logical
+    private interface Painter {
+        void paint(Graphics2D g);
+    }
+
+    private final double scale;
+    private final Sprite[] cells = new Sprite[CELL_COLORS.length];
+    private final Sprite[] digits = new Sprite[10];
+    private final Sprite[] smallDigits = new Sprite[10];
+    // Lebar maju per digit (logical), diukur pada skala ini supaya sama dengan drawString
+    private final double[] digitAdvance = new double[10];
+    private final double[] smallDigitAdvance = new double[10];
+    private final Sprite start;
+    private final Sprite finish;
+    private final Sprite dice;
+    private final Sprite star;
+    // (rgb << 16 | inisial) -> token
+    private final ConcurrentHashMap<Long, Sprite> tokens = new ConcurrentHashMap<>();
+
+    private SpriteAtlas(double scale) {
+        this.scale = scale;
+        for (int kind = 0; kind < cells.length; kind++) {
+            Color base = CELL_COLORS[kind];
+            cells[kind] = render(3, 3, CELL_SIZE - 6, CELL_SIZE - 6, g -> {
+                Shape cellShape = new RoundRectangle2D.Double(4, 4, CELL_SIZE - 8, CELL_SIZE - 8, 15, 15);
+                g.setPaint(new GradientPaint(0, 0, base, CELL_SIZE, CELL_SIZE, base.darker()));
+                g.fill(cellShape);
+                g.setColor(COLOR_CELL_BORDER);
+                g.setStroke(STROKE_CELL);
+                g.draw(cellShape);
+            });
+        }
+        FontRenderContext frc = new FontRenderContext(AffineTransform.getScaleInstance(scale, scale), true, false);
+        loadDigits(FONT_NUMBER, frc, digits, digitAdvance);
+        loadDigits(FONT_NUMBER_SMALL, frc, smallDigits, smallDigitAdvance);
+        start = label("START", COLOR_START);
+        finish = label("FINISH", COLOR_FINISH);
+        dice = text("🎲", FONT_DICE, COLOR_TEXT);
+        star = render(-26, -26, 52, 52, g -> drawShinyStar(g, 0, 0, 12, 24));
+    }
+
+    // Atlas untuk skala device (1.0, 1.25, 2.0, ...); dibuat sekali per skala lalu dipakai bersama
+    public static SpriteAtlas forScale(double scale) {
+        return ATLASES.computeIfAbsent(scale, SpriteAtlas::new);
+    }
+
+    public double getScale() { return scale; }
+
+    // --- BLIT (x, y = pojok kiri-atas petak, logical) ---
+
+    public void drawCell(Graphics2D g, int kind, int x, int y) {
+        blit(g, cells[kind], x, y);
+    }
+
+    // Nomor petak, baseline di (x + 15, y + 35) seperti drawString dulu
+    public void drawNumber(Graphics2D g, int number, int x, int y) {
+        Sprite[] glyphs = number >= 10_000 ? smallDigits : digits;
+        double[] advance = number >= 10_000 ? smallDigitAdvance : digitAdvance;
+        int divisor = 1;
+        while (divisor <= number / 10) divisor *= 10;
+        double pen = x + 15;
+        for (; divisor > 0; divisor /= 10) {
+            int d = number / divisor % 10;
+            blit(g, glyphs[d], pen, y + 35);
+            pen += advance[d];
+        }
+    }
+
+    public void drawStartLabel(Graphics2D g, int x, int y) {
+        blit(g, start, x, y);
+    }
+
+    public void drawFinishLabel(Graphics2D g, int x, int y) {
+        blit(g, finish, x, y);
+    }
+
+    public void drawStar(Graphics2D g, int x, int y) {
+        blit(g, star, x + CELL_SIZE - 30, y + 25);
+    }
+
+    public void drawDice(Graphics2D g, int x, int y) {
+        blit(g, dice, x + CELL_SIZE - 38, y + CELL_SIZE - 15);
+    }
+
+    // Token bulat (bayangan, gradien warna pemain, inisial); px, py = pojok kiri-atas lingkaran
+    public void drawToken(Graphics2D g, Color color, char initial, int px, int py) {
+        long key = (long) color.getRGB() << 16 | initial;
+        Sprite sprite = tokens.get(key);
+        if (sprite == null) sprite = tokens.computeIfAbsent(key, k -> token(color, initial));
+        blit(g, sprite, px, py);
+    }
+
+    // Skala & translasi saja (kasus normal): copy pixel 1:1 di posisi device yang dibulatkan.
+    // Transform lain (mis. skala berbeda dari atlas): image di-scale seperti drawImage biasa.
+    private void blit(Graphics2D g, Sprite sprite, double x, double y) {
+        AffineTransform t = g.getTransform();
+        if (t.getShearX() == 0 && t.getShearY() == 0 && t.getScaleX() == scale && t.getScaleY() == scale) {
+            int dx = (int) Math.round(x * scale + t.getTranslateX()) + sprite.offsetX;
+            int dy = (int) Math.round(y * scale + t.getTranslateY()) + sprite.offsetY;
+            g.setTransform(new AffineTransform());
+            g.drawImage(sprite.image, dx, dy, null);
+            g.setTransform(t);
+            return;
+        }
+        AffineTransform at = AffineTransform.getTranslateInstance(x + sprite.offsetX / scale, y + sprite.offsetY / scale);
+        at.scale(1 / scale, 1 / scale);
+        g.drawImage(sprite.image, at, null);
+    }
+
+    // --- RASTER (sekali per skala) ---
+
+    // Area logical (x, y, w, h) relatif ke anchor -> image ARGB di skala atlas
+    private Sprite render(double x, double y, double w, double h, Painter painter) {
+        int offsetX = (int) Math.floor(x * scale);
+        int offsetY = (int) Math.floor(y * scale);
+        int width = Math.max(1, (int) Math.ceil((x + w) * scale) - offsetX);
+        int height = Math.max(1, (int) Math.ceil((y + h) * scale) - offsetY);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.translate(-offsetX, -offsetY);
+            g.scale(scale, scale);
+            painter.paint(g);
+        } finally {
+            g.dispose();
+        }
+        return new Sprite(image, offsetX, offsetY);
+    }
+
+    // Teks dengan anchor di baseline kiri
+    private Sprite text(String s, Font font, Color color) {
+        FontRenderContext frc = new FontRenderContext(AffineTransform.getScaleInstance(scale, scale), true, false);
+        Rectangle bounds = font.createGlyphVector(frc, s).getPixelBounds(frc, 0, 0);
+        // Pixel bounds dalam device; kembali ke logical + margin 1 px untuk antialias
+        return render(bounds.x / scale - 1, bounds.y / scale - 1, bounds.width / scale + 2, bounds.height / scale + 2, g -> {
+            g.setFont(font);
+            g.setColor(color);
+            g.drawString(s, 0, 0);
+        });
+    }
+
+    private void loadDigits(Font font, FontRenderContext frc, Sprite[] glyphs, double[] advance) {
+        for (int d = 0; d < 10; d++) {
+            String s = String.valueOf((char) ('0' + d));
+            glyphs[d] = text(s, font, COLOR_TEXT);
+            advance[d] = font.createGlyphVector(frc, s).getGlyphMetrics(0).getAdvance();
+        }
+    }
+
+    // Label di tengah petak (kotak warna + teks putih), anchor = pojok petak
+    private Sprite label(String text, Color color) {
+        return render(7, 27, CELL_SIZE - 14, 36, g -> {
+            g.setColor(color);
+            g.fillRoundRect(8, 28, CELL_SIZE - 16, 34, 15, 15);
+            g.setColor(Color.WHITE);
+            g.setFont(FONT_LABEL);
+            FontMetrics fm = g.getFontMetrics();
+            g.drawString(text, (CELL_SIZE - fm.stringWidth(text)) / 2, 50);
+        });
+    }
+
+    private Sprite token(Color color, char initial) {
+        String s = String.valueOf(initial);
+        return render(-2, -2, TOKEN_SIZE + 6, TOKEN_SIZE + 6, g -> {
+            g.setColor(new Color(0, 0, 0, 80));
+            g.fillOval(3, 3, TOKEN_SIZE, TOKEN_SIZE);
+            g.setPaint(new GradientPaint(0, 0, color.brighter(), TOKEN_SIZE, TOKEN_SIZE, color.darker()));
+            g.fillOval(0, 0, TOKEN_SIZE, TOKEN_SIZE);
+            g.setColor(Color.WHITE);
+            g.setStroke(new BasicStroke(2));
+            g.drawOval(0, 0, TOKEN_SIZE, TOKEN_SIZE);
+            g.setFont(FONT_TOKEN);
+            FontMetrics fm = g.getFontMetrics();
+            g.drawString(s, (TOKEN_SIZE - fm.stringWidth(s)) / 2, (TOKEN_SIZE + fm.getAscent()) / 2 - 3);
+        });
+    }
+
+    private static void drawShinyStar(Graphics2D g2d, double cx, double cy, double innerRadius, double outerRadius) {
+        Shape star = createStarShape(cx, cy, innerRadius, outerRadius, 5, Math.toRadians(-18));
+
+        Point2D center = new Point2D.Double(cx, cy);
+        float[] dist = {0.0f, 0.5f, 1.0f};
+        Color[] colors = {new Color(255, 255, 220), new Color(255, 215, 0), new Color(218, 165, 32)};
+
+        RadialGradientPaint rgp = new RadialGradientPaint(center, (float)outerRadius, dist, colors);
+
+        g2d.setPaint(rgp);
+        g2d.fill(star);
+        g2d.setColor(new Color(184, 134, 11));
+        g2d.setStroke(new BasicStroke(1f));
+        g2d.draw(star);
+    }
+
+    private static Shape createStarShape(double centerX, double centerY, double innerRadius, double outerRadius, int numRays, double startAngleRad) {
+        Path2D path = new Path2D.Double();
+        double deltaAngleRad = Math.PI / numRays;
+        for (int i = 0; i < numRays * 2; i++) {
+            double angleRad = startAngleRad + i * deltaAngleRad;
+            double ca = Math.cos(angleRad);
+            double sa = Math.sin(angleRad);
+            double relX = ca * (i % 2 == 0 ? outerRadius : innerRadius);
+            double relY = sa * (i % 2 == 0 ? outerRadius : innerRadius);
+            if (i == 0) path.moveTo(centerX + relX, centerY + relY);
+            else path.lineTo(centerX + relX, centerY + relY);
+        }
+        path.closePath();
+        return path;
+    }
+}
@@ -0,0 +1,282 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Liga headless: round-robin atau bracket (gugur), tanpa UI dan tanpa animasi.
+// Match satu ronde dimainkan paralel di ForkJoinPool; tiap match punya GameEngine & seed sendiri
+// (seed + nomor match), jadi hasil sama persis berapapun jumlah thread.
+// Hasil diterapkan ke PlayerRecord (wins & skor) dan rating Elo di thread pemanggil, berurutan
+// sesuai nomor match, karena PlayerRecord / map record global tidak thread-safe.
+public class TournamentRunner {
+    public enum Format { ROUND_ROBIN, BRACKET }
+
+    public static final double INITIAL_RATING = 1500;
+    private static final double ELO_K = 32;
+    private static final int MAX_TURNS = 100_000;
+    // Match per task fork-join (cukup besar supaya overhead task tidak dominan)
+    private static final int MATCHES_PER_TASK = 64;
+
+    private final Map<String, PlayerRecord> records;
+    private final PlayerRecord.ChangeListener recordListener;
+    private final int boardSize;
+    private final List<BoardLayout> layouts = new ArrayList<>();
+    private final List<BoardTables> layoutTables = new ArrayList<>();
+    private GameEngine.BonusPolicy policy = GameEngine.BonusPolicy.ALWAYS;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    private final Map<String, Standing> standings = new LinkedHashMap<>();
+    private long matchCounter;
+
+    // records = map record global (Main.globalRecords); record pemain baru diberi recordListener
+    public TournamentRunner(Map<String, PlayerRecord> records, PlayerRecord.ChangeListener recordListener, int boardSize) {
+        this.records = records;
+        this.recordListener = recordListener;
+        this.boardSize = boardSize;
+    }
+
+    // Pakai layout dari library (kalau ada untuk ukuran ini) daripada papan acak per match
+    public void useLibrary(LayoutLibrary library) {
+        for (BoardLayout l : library.getLayouts()) {
+            if (l.getSize() != boardSize) continue;
+            layouts.add(l);
+            layoutTables.add(new BoardTables(l));
+        }
+    }
+
+    public void setBonusPolicy(GameEngine.BonusPolicy policy) { this.policy = policy; }
+    public void setParallelism(int parallelism) { this.parallelism = parallelism; }
+
+    // --- BARIS KLASEMEN ---
+
+    public static class Standing {
+        private final String name;
+        private int played;
+        private int wins;
+        private long score;
+        private double rating = INITIAL_RATING;
+        private double startRating = INITIAL_RATING;
+
+        Standing(String name) {
+            this.name = name;
+        }
+
+        public String getName() { return name; }
+        public int getPlayed() { return played; }
+        public int getWins() { return wins; }
+        public long getScore() { return score; }
+        public double getRating() { return rating; }
+        public double getRatingChange() { return rating - startRating; }
+    }
+
+    // --- HASIL SATU MATCH (2 pemain, bisa best-of-N di bracket) ---
+
+    public static class Match {
+        final String first;
+        final String second;
+        final int games;
+        final long seed;
+        // Diisi worker
+        int firstWins;
+        int secondWins;
+        int firstScore;
+        int secondScore;
+
+        Match(String first, String second, int games, long seed) {
+            this.first = first;
+            this.second = second;
+            this.games = games;
+            this.seed = seed;
+        }
+
+        // Pemenang seri, null kalau seri / tidak ada yang finish
+        public String getWinner() {
+            if (firstWins == secondWins) return null;
+            return firstWins > secondWins ? first : second;
+        }
+    }
+
+    // --- FORMAT ---
+
+    // Circle method: n-1 ronde, n/2 match per ronde, setiap pasangan bertemu tepat sekali.
+    // rounds < n-1 = liga sebagian (mis. satu ronde besar). gamesPerPair game per pertemuan.
+    public void runRoundRobin(List<String> roster, int gamesPerPair, int rounds, long seed) {
+        register(roster);
+        List<String> circle = new ArrayList<>(roster);
+        if (circle.size() % 2 == 1) circle.add(null); // bye
+        int n = circle.size();
+        for (int round = 0; round < Math.min(rounds, n - 1); round++) {
+            List<Match> matches = new ArrayList<>(n / 2);
+            for (int i = 0; i < n / 2; i++) {
+                String a = circle.get(i);
+                String b = circle.get(n - 1 - i);
+                if (a == null || b == null) continue;
+                // Kursi pertama diuntungkan sedikit: gantian per ronde
+                if ((round + i) % 2 == 1) { String t = a; a = b; b = t; }
+                matches.add(newMatch(a, b, gamesPerPair, seed));
+            }
+            playRound(matches);
+            // Putar semua kecuali elemen pertama
+            circle.add(1, circle.remove(n - 1));
+        }
+    }
+
+    // Gugur: unggulan (rating lalu total wins) dapat bye kalau jumlah pemain bukan pangkat 2.
+    // Setiap pertemuan best-of-'gamesPerMatch'; seri diulang dengan seed berikutnya. Return juara.
+    public String runBracket(List<String> roster, int gamesPerMatch, long seed) {
+        register(roster);
+        List<String> alive = new ArrayList<>(roster);
+        alive.sort((a, b) -> {
+            int c = Double.compare(standings.get(b).rating, standings.get(a).rating);
+            if (c != 0) return c;
+            return Integer.compare(records.get(b).getTotalWins(), records.get(a).getTotalWins());
+        });
+        while (alive.size() > 1) {
+            int size = Integer.highestOneBit(alive.size());
+            if (size < alive.size()) size <<= 1;
+            int byes = size - alive.size();
+            List<String> next = new ArrayList<>(alive.subList(0, byes));
+            List<String> playing = alive.subList(byes, alive.size());
+            List<Match> matches = new ArrayList<>();
+            // Terkuat vs terlemah di antara yang main
+            for (int i = 0; i < playing.size() / 2; i++) {
+                matches.add(newMatch(playing.get(i), playing.get(playing.size() - 1 - i), gamesPerMatch, seed));
+            }
+            while (!matches.isEmpty()) {
+                playRound(matches);
+                List<Match> replay = new ArrayList<>();
+                for (Match m : matches) {
+                    String winner = m.getWinner();
+                    if (winner != null) next.add(winner);
+                    else replay.add(newMatch(m.first, m.second, 1, seed));
+                }
+                matches = replay;
+            }
+            alive = next;
+        }
+        return alive.isEmpty() ? null : alive.get(0);
+    }
+
+    // --- EKSEKUSI SATU RONDE ---
+
+    public void playRound(List<Match> matches) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new RoundTask(matches, 0, matches.size()));
+        } finally {
+            pool.shutdown();
+        }
+        apply(matches);
+    }
+
+    private Match newMatch(String first, String second, int games, long seed) {
+        return new Match(first, second, games, MonteCarloSimulator.chunkSeed(seed, matchCounter++));
+    }
+
+    private void register(List<String> roster) {
+        for (String name : roster) {
+            standings.computeIfAbsent(name, Standing::new);
+            if (records.get(name) != null) continue;
+            PlayerRecord record = new PlayerRecord(name);
+            record.setChangeListener(recordListener);
+            records.put(name, record);
+        }
+    }
+
+    // Dijalankan worker: tidak menyentuh PlayerRecord / standings
+    private void play(Match m) {
+        SplittableRandom random = new SplittableRandom(m.seed);
+        GameEngine engine = new GameEngine(random);
+        int needed = m.games / 2 + 1;
+        for (int g = 0; g < m.games && m.firstWins < needed && m.secondWins < needed; g++) {
+            if (layouts.isEmpty()) {
+                engine.setLayout(BoardLayout.random(random, boardSize));
+            } else {
+                int k = random.nextInt(layouts.size());
+                engine.setLayout(layouts.get(k), layoutTables.get(k));
+            }
+            // Game ganjil: kursi ditukar supaya keuntungan kursi pertama merata
+            boolean swapped = g % 2 == 1;
+            engine.newGame(2);
+            int winner = engine.playGame(policy, MAX_TURNS);
+            int firstSeat = swapped ? 1 : 0;
+            m.firstScore += engine.getScore(firstSeat);
+            m.secondScore += engine.getScore(1 - firstSeat);
+            if (winner == firstSeat) m.firstWins++;
+            else if (winner >= 0) m.secondWins++;
+        }
+    }
+
+    // Terapkan hasil ke record & rating, berurutan. Elo dihitung dari rating sebelum ronde.
+    private void apply(List<Match> matches) {
+        Map<String, Double> before = new HashMap<>();
+        for (Match m : matches) {
+            before.putIfAbsent(m.first, standings.get(m.first).rating);
+            before.putIfAbsent(m.second, standings.get(m.second).rating);
+        }
+        for (Match m : matches) {
+            Standing a = standings.get(m.first);
+            Standing b = standings.get(m.second);
+            PlayerRecord ra = records.get(m.first);
+            PlayerRecord rb = records.get(m.second);
+            int played = m.firstWins + m.secondWins;
+            a.played += played;
+            b.played += played;
+            a.wins += m.firstWins;
+            b.wins += m.secondWins;
+            a.score += m.firstScore;
+            b.score += m.secondScore;
+            for (int i = 0; i < m.firstWins; i++) ra.addWin();
+            for (int i = 0; i < m.secondWins; i++) rb.addWin();
+            if (m.firstScore > 0) ra.addScore(m.firstScore);
+            if (m.secondScore > 0) rb.addScore(m.secondScore);
+
+            if (played == 0) continue;
+            double expected = 1 / (1 + Math.pow(10, (before.get(m.second) - before.get(m.first)) / 400));
+            double actual = (double) m.firstWins / played;
+            double delta = ELO_K * (actual - expected);
+            a.rating += delta;
+            b.rating -= delta;
+        }
+    }
+
+    // Klasemen: wins, lalu rating, lalu nama
+    public List<Standing> getStandings() {
+        List<Standing> list = new ArrayList<>(standings.values());
+        list.sort((x, y) -> {
+            if (x.wins != y.wins) return Integer.compare(y.wins, x.wins);
+            if (x.rating != y.rating) return Double.compare(y.rating, x.rating);
+            return x.name.compareTo(y.name);
+        });
+        return Collections.unmodifiableList(list);
+    }
+
+    public long getMatchesPlayed() { return matchCounter; }
+
+    private class RoundTask extends RecursiveAction {
+        private final List<Match> matches;
+        private final int from;
+        private final int to;
+
+        RoundTask(List<Match> matches, int from, int to) {
+            this.matches = matches;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= MATCHES_PER_TASK) {
+                for (int i = from; i < to; i++) play(matches.get(i));
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RoundTask(matches, from, mid), new RoundTask(matches, mid, to));
+        }
+    }
+}
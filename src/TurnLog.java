@@ -0,0 +1,420 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.LinkedBlockingQueue;
+
+// Log biner ringkas untuk setiap game, bisa di-replay persis (audit / reproduksi bug).
+//
+// File   : [int magic "LGTL"][byte version] lalu game berurutan: [varint panjang][game]
+// Game   : [varint zigzag seed][varint pemain | ukuran << 3][layout][event...][END][varint winner + 1]
+//          (ukuran 0 = papan 8x8 klasik, jadi log lama tetap terbaca)
+// Layout : [varint jumlah tangga][from][to]... [varint jumlah bintang][node]...
+// Event  : satu byte tag
+//   0..11 ROLL  = (dice - 1) * 2 + backward, diikuti varint poin bintang (basis 5, satu digit
+//                 per bintang yang dilewati) HANYA jika jalurnya melewati bintang
+//   12/13 BONUS = pilihan roll lagi (ya / tidak), hanya jika bonus memang tersedia
+//   14    END
+// Tangga yang dinaiki & petak akhir tidak disimpan: dihitung ulang dari layout saat replay.
+// Tanpa bonus, giliran selalu pindah setelah ROLL.
+// Transcript game yang belum selesai (tanpa END) dipakai GameSnapshot untuk save / resume.
+public class TurnLog {
+    private static final int MAGIC = 0x4C47544C;
+    private static final int VERSION = 1;
+    private static final int TAG_BONUS_YES = 12;
+    private static final int TAG_BONUS_NO = 13;
+    private static final int TAG_END = 14;
+    private static final int MAX_GAME_BYTES = 1 << 24;
+
+    // --- WRITER ---
+
+    // Game yang selesai dikirim ke thread writer dan ditulis per batch (flush saat antrean
+    // kosong, tanpa fsync per event). Log append-only: game baru ditambahkan di akhir file.
+    public static class Writer implements AutoCloseable {
+        private static final Object CLOSE = new Object();
+
+        private final OutputStream out;
+        private final LinkedBlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+        private final Thread writer;
+        private volatile IOException writeError;
+
+        public Writer(Path file) throws IOException {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            boolean fresh = !Files.exists(file) || Files.size(file) == 0;
+            out = new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND), 1 << 16);
+            if (fresh) {
+                out.write(new byte[] {(byte) (MAGIC >>> 24), (byte) (MAGIC >>> 16), (byte) (MAGIC >>> 8), (byte) MAGIC, VERSION});
+            }
+            writer = new Thread(this::writeLoop, "turn-log-writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+
+        public Recording startGame(long seed, int players, BoardLayout layout) {
+            return new Recording(this, seed, players, layout);
+        }
+
+        // Lanjutkan rekaman game yang di-resume dari snapshot (transcript = Recording.getTranscript)
+        public Recording resumeGame(byte[] transcript) {
+            return new Recording(this, transcript);
+        }
+
+        private void submit(byte[] game) {
+            queue.offer(game);
+        }
+
+        private void writeLoop() {
+            List<Object> batch = new ArrayList<>();
+            boolean running = true;
+            while (running) {
+                batch.clear();
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    break;
+                }
+                queue.drainTo(batch);
+                try {
+                    for (Object item : batch) {
+                        if (item == CLOSE) running = false;
+                        else out.write((byte[]) item);
+                    }
+                    out.flush();
+                } catch (IOException e) {
+                    writeError = e;
+                    System.out.println("Error writing turn log: " + e.getMessage());
+                }
+            }
+            try {
+                out.close();
+            } catch (IOException e) {
+                writeError = e;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            queue.offer(CLOSE);
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (writeError != null) throw writeError;
+        }
+    }
+
+    // Rekaman tanpa file (turn log mati): tetap menyimpan transcript untuk snapshot
+    public static Recording record(long seed, int players, BoardLayout layout) {
+        return new Recording(null, seed, players, layout);
+    }
+
+    public static Recording resume(byte[] transcript) {
+        return new Recording(null, transcript);
+    }
+
+    // Rekaman satu game; dipasang ke GameEngine sebagai TurnListener (thread game saja)
+    public static class Recording implements GameEngine.TurnListener {
+        private final Writer writer;
+        private byte[] bytes = new byte[256];
+        private int length;
+        private boolean finished;
+
+        Recording(Writer writer, long seed, int players, BoardLayout layout) {
+            this.writer = writer;
+            writeVarLong((seed << 1) ^ (seed >> 63));
+            int size = layout.getSize() == BoardLayout.DEFAULT_SIZE ? 0 : layout.getSize();
+            writeVarLong(players | (long) size << 3);
+            writeLayout(layout);
+        }
+
+        Recording(Writer writer, byte[] transcript) {
+            this.writer = writer;
+            bytes = Arrays.copyOf(transcript, Math.max(256, transcript.length * 2));
+            length = transcript.length;
+        }
+
+        // Header + event sejauh ini (tanpa END), salinan
+        public byte[] getTranscript() {
+            return Arrays.copyOf(bytes, length);
+        }
+
+        @Override
+        public void rolled(int dice, boolean backward, int[] points, int count) {
+            write((dice - 1) * 2 + (backward ? 1 : 0));
+            if (count > 0) {
+                long packed = 0;
+                for (int i = count - 1; i >= 0; i--) packed = packed * 5 + (points[i] / 10 - 1);
+                writeVarLong(packed);
+            }
+        }
+
+        @Override
+        public void bonusChosen(boolean rollAgain) {
+            write(rollAgain ? TAG_BONUS_YES : TAG_BONUS_NO);
+        }
+
+        // winner -1 = game ditinggalkan sebelum selesai
+        public void finish(int winner) {
+            if (finished) return;
+            finished = true;
+            if (writer == null) return;
+            write(TAG_END);
+            writeVarLong(winner + 1);
+
+            byte[] framed = new byte[length + 5];
+            int header = putVarLong(framed, 0, length);
+            System.arraycopy(bytes, 0, framed, header, length);
+            writer.submit(Arrays.copyOf(framed, header + length));
+        }
+
+        private void writeLayout(BoardLayout layout) {
+            writeVarLong(layout.getLadders().size());
+            for (Ladder l : layout.getLadders()) {
+                writeVarLong(l.getFrom());
+                writeVarLong(l.getTo());
+            }
+            writeVarLong(layout.getStarNodes().size());
+            for (int node : layout.getStarNodes()) writeVarLong(node);
+        }
+
+        private void write(int b) {
+            if (length == bytes.length) bytes = Arrays.copyOf(bytes, length * 2);
+            bytes[length++] = (byte) b;
+        }
+
+        private void writeVarLong(long value) {
+            if (bytes.length - length < 10) bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            length = putVarLong(bytes, length, value);
+        }
+    }
+
+    private static int putVarLong(byte[] out, int offset, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[offset++] = (byte) value;
+        return offset;
+    }
+
+    // --- READER ---
+
+    // Satu game dari log: header sudah di-decode, event dibaca saat replay
+    public static class Game {
+        private final long seed;
+        private final int players;
+        private final BoardLayout layout;
+        private final byte[] bytes;
+        private final int eventsOffset;
+
+        Game(long seed, int players, BoardLayout layout, byte[] bytes, int eventsOffset) {
+            this.seed = seed;
+            this.players = players;
+            this.layout = layout;
+            this.bytes = bytes;
+            this.eventsOffset = eventsOffset;
+        }
+
+        public long getSeed() { return seed; }
+        public int getPlayers() { return players; }
+        public BoardLayout getLayout() { return layout; }
+    }
+
+    // Membaca game berurutan; game terakhir yang terpotong (crash saat menulis) dilewati
+    public static class Reader implements AutoCloseable {
+        private final DataInputStream in;
+
+        public Reader(Path file) throws IOException {
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16));
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                in.close();
+                throw new IOException("Not a turn log: " + file);
+            }
+        }
+
+        // Return null di akhir file
+        public Game next() throws IOException {
+            long length;
+            try {
+                length = readVarLong(in);
+            } catch (EOFException e) {
+                return null;
+            }
+            if (length <= 0 || length > MAX_GAME_BYTES) throw new IOException("Corrupt turn log entry");
+            byte[] bytes = new byte[(int) length];
+            try {
+                in.readFully(bytes);
+            } catch (EOFException e) {
+                return null;
+            }
+            return decode(bytes);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    // Header game (seed, pemain, layout); event dibaca saat replay. Juga untuk transcript snapshot.
+    public static Game decode(byte[] bytes) throws IOException {
+        try {
+            Cursor c = new Cursor(bytes, 0);
+            long zigzag = c.varLong();
+            long seed = (zigzag >>> 1) ^ -(zigzag & 1);
+            long playersAndSize = c.varLong();
+            int players = (int) (playersAndSize & 7);
+            int size = (int) (playersAndSize >>> 3);
+            int ladderCount = (int) c.varLong();
+            List<Ladder> ladders = new ArrayList<>(ladderCount);
+            for (int i = 0; i < ladderCount; i++) ladders.add(new Ladder((int) c.varLong(), (int) c.varLong()));
+            int starCount = (int) c.varLong();
+            Set<Integer> stars = new LinkedHashSet<>();
+            for (int i = 0; i < starCount; i++) stars.add((int) c.varLong());
+            BoardLayout layout = new BoardLayout(size == 0 ? BoardLayout.DEFAULT_SIZE : size, ladders, stars);
+            return new Game(seed, players, layout, bytes, c.offset);
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Corrupt game header", e);
+        }
+    }
+
+    private static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) throw new EOFException();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Varint too long");
+    }
+
+    private static class Cursor {
+        final byte[] bytes;
+        int offset;
+
+        Cursor(byte[] bytes, int offset) {
+            this.bytes = bytes;
+            this.offset = offset;
+        }
+
+        long varLong() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = bytes[offset++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) return value;
+            }
+        }
+    }
+
+    // --- REPLAY ---
+
+    // Bangun ulang state game setelah 'maxEvents' event (ROLL / BONUS) dari log.
+    // Tidak memakai random sama sekali: dadu & poin bintang dibaca dari log.
+    public static GameEngine replay(Game game, int maxEvents) {
+        GameEngine engine = new GameEngine(new SplittableRandom(game.seed));
+        engine.setLayout(game.layout);
+        replay(game, engine, maxEvents);
+        return engine;
+    }
+
+    // Engine (dengan layout game ini) bisa dipakai ulang. Return jumlah event yang diterapkan.
+    public static int replay(Game game, GameEngine engine, int maxEvents) {
+        engine.newGame(game.players);
+        BoardTables tables = engine.getTables();
+        int[] points = new int[GameEngine.MAX_PATH];
+        Cursor c = new Cursor(game.bytes, game.eventsOffset);
+        int events = 0;
+        while (events < maxEvents && c.offset < game.bytes.length) {
+            int tag = game.bytes[c.offset++];
+            if (tag == TAG_END) break;
+            if (tag == TAG_BONUS_YES || tag == TAG_BONUS_NO) {
+                engine.endTurn(tag == TAG_BONUS_YES);
+            } else {
+                int dice = tag / 2 + 1;
+                boolean backward = (tag & 1) != 0;
+                int hits = tables.starHits(engine.getPosition(engine.getCurrentSeat()), dice, backward);
+                if (hits > 0) {
+                    long packed = c.varLong();
+                    for (int i = 0; i < hits; i++) {
+                        points[i] = (int) (packed % 5 + 1) * 10;
+                        packed /= 5;
+                    }
+                }
+                engine.move(dice, backward, points);
+                // Tanpa bonus giliran langsung pindah (tidak ada event BONUS)
+                if (!engine.canRollAgain()) engine.endTurn(false);
+            }
+            events++;
+        }
+        return events;
+    }
+
+    // Audit: mainkan ulang dari seed + pilihan bonus di log, bandingkan setiap roll dengan log.
+    // Return true jika log persis sama dengan yang dihasilkan engine.
+    public static boolean verify(Game game) {
+        GameEngine engine = new GameEngine(new SplittableRandom(game.seed));
+        engine.setLayout(game.layout);
+        return rerun(game, engine);
+    }
+
+    // Resume transcript game yang belum selesai: roll diundi ulang dari seed (bukan dibaca dari log)
+    // supaya state random engine sama persis dengan game aslinya. Ratusan roll, hitungan mikrodetik.
+    public static GameEngine restore(Game game) throws IOException {
+        GameEngine engine = new GameEngine(new SplittableRandom(game.seed));
+        engine.setLayout(game.layout);
+        boolean ok;
+        try {
+            ok = rerun(game, engine);
+        } catch (ArrayIndexOutOfBoundsException e) {
+            ok = false;
+        }
+        if (!ok || engine.isFinished()) throw new IOException("Transcript does not match its seed");
+        return engine;
+    }
+
+    // Transcript tanpa END (snapshot) berhenti di akhir byte dan dianggap cocok
+    private static boolean rerun(Game game, GameEngine engine) {
+        engine.newGame(game.players);
+        BoardTables tables = engine.getTables();
+        Cursor c = new Cursor(game.bytes, game.eventsOffset);
+        while (true) {
+            if (c.offset == game.bytes.length) return true;
+            int tag = game.bytes[c.offset++];
+            if (tag == TAG_END) return engine.getWinner() + 1 == c.varLong();
+            if (tag == TAG_BONUS_YES || tag == TAG_BONUS_NO) {
+                if (!engine.canRollAgain()) return false;
+                engine.endTurn(tag == TAG_BONUS_YES);
+                continue;
+            }
+            if (engine.isFinished()) return false;
+            engine.roll();
+            if (engine.getLastDice() != tag / 2 + 1 || engine.isLastBackward() != ((tag & 1) != 0)) return false;
+            long packed = 0;
+            boolean anyStar = false;
+            for (int i = engine.getPathLength() - 1; i >= 0; i--) {
+                if (!tables.is(engine.getPathNode(i), BoardTables.STAR)) continue;
+                packed = packed * 5 + (engine.getPathPoints(i) / 10 - 1);
+                anyStar = true;
+            }
+            if (anyStar && c.varLong() != packed) return false;
+            if (!engine.canRollAgain()) engine.endTurn(false);
+        }
+    }
+}